@@ -0,0 +1,93 @@
+package edu.eci.UniReserva.UniReserva_Backend.benchmark;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Availability check of a new reservation against the existing ones of its lab.
+ *
+ * {@code scheduleIndex} is the check done by {@link LabScheduleIndex}; {@code labScan} walks every
+ * reservation of the lab and compares parsed dates and times, which is the cost the index avoids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class AvailabilityBenchmark {
+    private static final int PROBES = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    private int reservations;
+
+    private LabScheduleIndex index;
+    private Map<String, List<Reservation>> byLab;
+    private Reservation[] probes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryReservations data = new InMemoryReservations(reservations);
+        index = new LabScheduleIndex(data.repository());
+        index.warmUp();
+        byLab = data.reservations.stream().collect(Collectors.groupingBy(Reservation::getLabId));
+
+        Random random = new Random(42);
+        int today = (int) LocalDate.now().toEpochDay();
+        probes = new Reservation[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            int day = today + random.nextInt(data.lastDay - today + 1);
+            int hour = InMemoryReservations.FIRST_HOUR - 1 + random.nextInt(InMemoryReservations.SLOTS_PER_DAY + 2);
+            probes[i] = new Reservation("probe", InMemoryReservations.labId(random.nextInt(InMemoryReservations.LABS)),
+                    LocalDate.ofEpochDay(day).toString(), InMemoryReservations.time(hour),
+                    InMemoryReservations.time(hour + 1), "Probe");
+            probes[i].resolveTypedFields();
+            index.isAvailable(probes[i]);
+        }
+    }
+
+    private Reservation nextProbe() {
+        next = (next + 1) & (PROBES - 1);
+        return probes[next];
+    }
+
+    @Benchmark
+    public boolean scheduleIndex() {
+        return index.isAvailable(nextProbe());
+    }
+
+    @Benchmark
+    public boolean labScan() {
+        Reservation reservation = nextProbe();
+        for (Reservation r : byLab.getOrDefault(reservation.getLabId(), List.of())) {
+            if (reservation.getParsedDate().equals(r.getParsedDate())
+                    && ReservationStatus.CONFIRMED.equals(r.getStatus())
+                    && reservation.getParsedStartTime().isBefore(r.getParsedEndTime())
+                    && reservation.getParsedEndTime().isAfter(r.getParsedStartTime())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package edu.eci.UniReserva.UniReserva_Backend.benchmark;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Synthetic reservation data set served by an in-memory {@link ReservationRepository}.
+ *
+ * Reservations are spread over {@link #LABS} labs with one-hour slots from 07:00 to 19:00, so
+ * each lab/day holds {@link #SLOTS_PER_DAY} reservations and the data set spans as many days as
+ * needed, centered on today. The repository answers the day and range queries through a sorted
+ * map per lab, the way the {@code lab_day_idx} index serves them in MongoDB.
+ */
+final class InMemoryReservations {
+    static final int LABS = 50;
+    static final int SLOTS_PER_DAY = 12;
+    static final int FIRST_HOUR = 7;
+
+    final List<Reservation> reservations;
+    final int firstDay;
+    final int lastDay;
+    private final Map<String, NavigableMap<Integer, List<Reservation>>> byLabAndDay = new HashMap<>();
+
+    InMemoryReservations(int count) {
+        int days = Math.max(1, count / (LABS * SLOTS_PER_DAY));
+        this.firstDay = (int) LocalDate.now().toEpochDay() - days / 2;
+        this.lastDay = firstDay + days - 1;
+        this.reservations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int lab = i % LABS;
+            int slot = (i / LABS) % SLOTS_PER_DAY;
+            int day = firstDay + (i / (LABS * SLOTS_PER_DAY)) % days;
+            Reservation reservation = new Reservation("user" + (i % 1000), labId(lab),
+                    LocalDate.ofEpochDay(day).toString(), time(FIRST_HOUR + slot), time(FIRST_HOUR + slot + 1),
+                    "Benchmark");
+            reservation.setId(Integer.toString(i));
+            reservation.resolveTypedFields();
+            reservations.add(reservation);
+            byLabAndDay.computeIfAbsent(reservation.getLabId(), id -> new TreeMap<>())
+                    .computeIfAbsent(day, d -> new ArrayList<>())
+                    .add(reservation);
+        }
+    }
+
+    static String labId(int lab) {
+        return "lab" + lab;
+    }
+
+    static String time(int hour) {
+        return String.format("%02d:00", hour);
+    }
+
+    List<Reservation> findByLabIdAndEpochDay(String labId, int epochDay) {
+        return byLabAndDay.getOrDefault(labId, new TreeMap<>()).getOrDefault(epochDay, List.of());
+    }
+
+    List<Reservation> findByLabIdInAndEpochDay(Collection<String> labIds, int epochDay) {
+        List<Reservation> found = new ArrayList<>();
+        labIds.forEach(labId -> found.addAll(findByLabIdAndEpochDay(labId, epochDay)));
+        return found;
+    }
+
+    List<Reservation> findByLabIdAndEpochDayBetween(String labId, int from, int to) {
+        NavigableMap<Integer, List<Reservation>> days = byLabAndDay.get(labId);
+        if (days == null || from > to) {
+            return List.of();
+        }
+        List<Reservation> found = new ArrayList<>();
+        days.subMap(from, true, to, true).values().forEach(found::addAll);
+        return found;
+    }
+
+    List<Reservation> findByStatusAndEpochDayGreaterThanEqual(ReservationStatus status, int epochDay) {
+        return reservations.stream()
+                .filter(r -> status.equals(r.getStatus()) && r.getEpochDay() >= epochDay)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a stub-only Mockito repository backed by this data set.
+     */
+    ReservationRepository repository() {
+        ReservationRepository repository = mock(ReservationRepository.class, withSettings().stubOnly());
+        when(repository.findByLabIdAndEpochDay(anyString(), anyInt())).thenAnswer(invocation ->
+                findByLabIdAndEpochDay(invocation.getArgument(0), invocation.getArgument(1)));
+        when(repository.findByLabIdInAndEpochDay(anyCollection(), anyInt())).thenAnswer(invocation ->
+                findByLabIdInAndEpochDay(invocation.getArgument(0), invocation.getArgument(1)));
+        when(repository.findByLabIdAndEpochDayBetween(anyString(), anyInt(), anyInt())).thenAnswer(invocation ->
+                findByLabIdAndEpochDayBetween(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+        when(repository.findByStatusAndEpochDayGreaterThanEqual(any(ReservationStatus.class), anyInt())).thenAnswer(invocation ->
+                findByStatusAndEpochDayGreaterThanEqual(invocation.getArgument(0), invocation.getArgument(1)));
+        return repository;
+    }
+}
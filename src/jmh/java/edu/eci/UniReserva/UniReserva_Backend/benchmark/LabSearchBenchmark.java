@@ -0,0 +1,102 @@
+package edu.eci.UniReserva.UniReserva_Backend.benchmark;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.LabService;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.LabSearchServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * "Find me any free lab" search over a catalog of several hundred labs.
+ *
+ * The first {@link InMemoryReservations#LABS} labs of the catalog hold the synthetic reservations;
+ * the rest are free. Every probe asks for at least 30 seats and 10 computers at a random hour of
+ * an upcoming day, so each search filters the catalog index and then checks the bitmaps of the
+ * remaining labs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class LabSearchBenchmark {
+    private static final int PROBES = 256;
+    private static final Map<String, Integer> EQUIPMENT = Map.of("Computadoras", 10);
+
+    @Param({"100000", "1000000"})
+    private int reservations;
+
+    @Param({"200", "800"})
+    private int labs;
+
+    private LabSearchServiceImpl service;
+    private String[] dates;
+    private String[] hours;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryReservations data = new InMemoryReservations(reservations);
+        LabScheduleIndex index = new LabScheduleIndex(data.repository());
+        index.warmUp();
+
+        Random random = new Random(42);
+        List<Lab> catalog = new ArrayList<>(labs);
+        for (int i = 0; i < labs; i++) {
+            HashMap<String, Integer> equipment = new HashMap<>();
+            equipment.put("Computadoras", random.nextInt(40));
+            equipment.put("Proyectores", random.nextInt(3));
+            Lab lab = new Lab("Lab " + i, 10 + random.nextInt(50), equipment);
+            ReflectionTestUtils.setField(lab, "id", InMemoryReservations.labId(i));
+            catalog.add(lab);
+        }
+        LabService labService = mock(LabService.class, withSettings().stubOnly());
+        when(labService.getLabs()).thenReturn(catalog);
+        service = new LabSearchServiceImpl(labService, index);
+
+        int today = (int) LocalDate.now().toEpochDay();
+        dates = new String[PROBES];
+        hours = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            dates[i] = LocalDate.ofEpochDay(today + 1 + random.nextInt(Math.max(1, data.lastDay - today))).toString();
+            hours[i] = InMemoryReservations.time(InMemoryReservations.FIRST_HOUR + random.nextInt(InMemoryReservations.SLOTS_PER_DAY));
+            search(i);
+        }
+    }
+
+    private List<Lab> search(int probe) {
+        String end = InMemoryReservations.time(Integer.parseInt(hours[probe].substring(0, 2)) + 2);
+        return service.searchFreeLabs(dates[probe], hours[probe], end, 30, EQUIPMENT, 10);
+    }
+
+    @Benchmark
+    public List<Lab> search() {
+        next = (next + 1) & (PROBES - 1);
+        return search(next);
+    }
+}
@@ -0,0 +1,100 @@
+package edu.eci.UniReserva.UniReserva_Backend.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test of a running server.
+ *
+ * A fixed number of virtual-thread clients send GET requests to one URL for a given time, each
+ * waiting for its response before sending the next one. The throughput and latency percentiles
+ * it prints are meant to be compared between a server started normally and one started with the
+ * {@code virtual-threads} profile, at a concurrency well above the 200 Tomcat platform threads.
+ *
+ * Arguments: {@code <url> <concurrency> <duration>}, for example
+ * {@code http://localhost:8080/reservations/range?lab=lab01&date1=2025-05-01&date2=2025-05-31 1000 PT30S}.
+ */
+public final class LoadTest {
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        Duration duration = Duration.parse(args[2]);
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        run(client, request, concurrency, WARM_UP);
+        Result result = run(client, request, concurrency, duration);
+
+        System.out.printf("url=%s concurrency=%d duration=%s%n", uri, concurrency, duration);
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                result.latencies.length, result.errors, result.latencies.length / (duration.toMillis() / 1000.0));
+        System.out.printf("p50=%.1f ms p90=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                result.percentile(0.50), result.percentile(0.90), result.percentile(0.99), result.percentile(1.0));
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            List<long[]> perClient = new ArrayList<>(concurrency);
+            for (Future<long[]> future : clients) {
+                perClient.add(future.get());
+            }
+            long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(all, errors.get());
+        }
+    }
+
+    private record Result(long[] latencies, long errors) {
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package edu.eci.UniReserva.UniReserva_Backend.benchmark;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.repository.UserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordHasher;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordPolicy;
+import edu.eci.UniReserva.UniReserva_Backend.security.TokenService;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.AuthServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Login throughput of {@link AuthServiceImpl} at several BCrypt costs.
+ *
+ * Logins come from 4 client threads and are hashed on a pool with one thread per core, as in the
+ * application. {@code cachedLogin} repeats credentials that the verified-credential cache already
+ * holds, so it skips BCrypt; {@code uncachedLogin} runs with the cache disabled, so every login
+ * pays the full cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoginBenchmark {
+    private static final String PASSWORD = "Secure#2024";
+
+    @Param({"8", "10", "12"})
+    private int cost;
+
+    private ThreadPoolExecutor executor;
+    private AuthServiceImpl cachedService;
+    private AuthServiceImpl uncachedService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(cores, cores, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(64));
+        PasswordHasher cached = new PasswordHasher(cost, Duration.ofMinutes(5), 1000, executor);
+        String hash = cached.hash(PASSWORD);
+
+        PasswordPolicy policy = new PasswordPolicy(8, true, true, true);
+        TokenService tokens = new TokenService("", Duration.ofHours(1));
+        UserRepository repository = mock(UserRepository.class, withSettings().stubOnly());
+        when(repository.findByEmail(anyString())).thenAnswer(invocation ->
+                Optional.of(new User("u1", "Benchmark", invocation.getArgument(0), hash)));
+        cachedService = new AuthServiceImpl(repository, cached, policy, tokens);
+        uncachedService = new AuthServiceImpl(repository, new PasswordHasher(cost, Duration.ZERO, 1000, executor), policy, tokens);
+        cachedService.authenticateLogin("user@example.com", PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public User cachedLogin() {
+        return cachedService.authenticateLogin("user@example.com", PASSWORD);
+    }
+
+    @Benchmark
+    public User uncachedLogin() {
+        return uncachedService.authenticateLogin("user@example.com", PASSWORD);
+    }
+}
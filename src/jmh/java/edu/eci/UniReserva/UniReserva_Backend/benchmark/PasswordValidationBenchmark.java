@@ -0,0 +1,61 @@
+package edu.eci.UniReserva.UniReserva_Backend.benchmark;
+
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Password policy check done on sign up and on profile updates, for a valid password, an invalid
+ * one and a long valid one.
+ *
+ * {@code stringMatches} is the check the services used to do, compiling the pattern on every call;
+ * {@code compiledPattern} reuses one compiled pattern; {@code passwordPolicy} is the single-pass
+ * scan of {@link PasswordPolicy}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordValidationBenchmark {
+    private static final String REGEX = "^(?=.*[A-Z])(?=.*\\d)(?=.*[^A-Za-z0-9]).{8,}$";
+    private static final Pattern PATTERN = Pattern.compile(REGEX);
+
+    @Param({"Secure#2024", "nouppercase1!", "Long#Passphrase1-with-many-more-characters-than-needed"})
+    private String password;
+
+    private PasswordPolicy policy;
+
+    @Setup
+    public void setUp() {
+        policy = new PasswordPolicy(8, true, true, true);
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return password.matches(REGEX);
+    }
+
+    @Benchmark
+    public boolean compiledPattern() {
+        return PATTERN.matcher(password).matches();
+    }
+
+    @Benchmark
+    public boolean passwordPolicy() {
+        return policy.isValid(password);
+    }
+}
@@ -0,0 +1,77 @@
+package edu.eci.UniReserva.UniReserva_Backend.benchmark;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.repository.LabRepository;
+import edu.eci.UniReserva.UniReserva_Backend.repository.UserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.ReservationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Reservations of one lab over a week.
+ *
+ * {@code serviceRangeQuery} goes through {@link ReservationServiceImpl#getReservationsByRangeDate}
+ * and the indexed range query of the repository; {@code fullScanFilter} filters every reservation
+ * in memory, the cost of answering the same question without the {@code lab_day_idx} index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RangeQueryBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int reservations;
+
+    private InMemoryReservations data;
+    private ReservationServiceImpl service;
+    private String lab;
+    private String from;
+    private String to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new InMemoryReservations(reservations);
+        service = new ReservationServiceImpl(data.repository(), mock(LabRepository.class), mock(UserRepository.class),
+                mock(LabScheduleIndex.class), Runnable::run, new SimpleMeterRegistry());
+        lab = InMemoryReservations.labId(7);
+        int middle = (data.firstDay + data.lastDay) / 2;
+        from = LocalDate.ofEpochDay(middle - 3).toString();
+        to = LocalDate.ofEpochDay(middle + 3).toString();
+    }
+
+    @Benchmark
+    public List<Reservation> serviceRangeQuery() {
+        return service.getReservationsByRangeDate(lab, from, to);
+    }
+
+    @Benchmark
+    public List<Reservation> fullScanFilter() {
+        LocalDate startDate = LocalDate.parse(from);
+        LocalDate endDate = LocalDate.parse(to);
+        return data.reservations.stream()
+                .filter(reservation -> !reservation.getParsedDate().isBefore(startDate)
+                        && !reservation.getParsedDate().isAfter(endDate) && lab.equals(reservation.getLabId()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,68 @@
+package edu.eci.UniReserva.UniReserva_Backend.benchmark;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date and time parsing of {@link Reservation}.
+ *
+ * The {@code firstAccess} benchmarks parse the strings of a freshly loaded reservation; the
+ * {@code cached} ones read a reservation whose typed fields are already resolved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationParsingBenchmark {
+    private String date;
+    private Reservation resolved;
+
+    @Setup
+    public void setUp() {
+        date = LocalDate.now().plusDays(7).toString();
+        resolved = new Reservation("user", "lab", date, "10:00", "12:00", "Benchmark");
+        resolved.resolveTypedFields();
+    }
+
+    private Reservation loaded() {
+        return new Reservation("user", "lab", date, "10:00", "12:00", "Benchmark");
+    }
+
+    @Benchmark
+    public LocalDate parsedDateFirstAccess() {
+        return loaded().getParsedDate();
+    }
+
+    @Benchmark
+    public void parsedTimesFirstAccess(Blackhole blackhole) {
+        Reservation reservation = loaded();
+        blackhole.consume(reservation.getParsedStartTime());
+        blackhole.consume(reservation.getParsedEndTime());
+    }
+
+    @Benchmark
+    public LocalDate parsedDateCached() {
+        return resolved.getParsedDate();
+    }
+
+    @Benchmark
+    public void parsedTimesCached(Blackhole blackhole) {
+        blackhole.consume(resolved.getParsedStartTime());
+        blackhole.consume(resolved.getParsedEndTime());
+    }
+}
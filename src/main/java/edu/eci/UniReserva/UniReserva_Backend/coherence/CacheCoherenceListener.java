@@ -0,0 +1,332 @@
+package edu.eci.UniReserva.UniReserva_Backend.coherence;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import edu.eci.UniReserva.UniReserva_Backend.config.MetricsConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.LabService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-process caches of this node coherent with the writes of the other nodes.
+ *
+ * One MongoDB change stream follows the {@code reservations} and {@code labs} collections.
+ * Reservation events patch the {@link LabScheduleIndex} one reservation at a time: a confirmed
+ * reservation is added to its day, and a canceled or deleted one is removed. An event for a day
+ * that is still being read from MongoDB is replayed by the index once the day is stored.
+ * Lab events evict the lab catalog cache, except for the {@code $addToSet} updates of the
+ * reservation lists, which the catalog does not include. Users are not followed because no
+ * user data is cached: the verified-login cache is keyed on the stored password hash.
+ *
+ * The resume token of the last event, or of the last empty batch, is kept as a checkpoint. When
+ * the stream fails, for example on a replica set election, it is reopened after that token and
+ * the caches are kept. Only when the token is no longer in the oplog, or the stream is
+ * invalidated, is a new stream opened and the caches cleared, so their entries are read again
+ * from MongoDB.
+ *
+ * Change streams need a replica set, so the listener is only started with
+ * {@code unireserva.coherence.enabled=true}. A single-node replica set is enough for development.
+ */
+@Component
+@ConditionalOnProperty(name = "unireserva.coherence.enabled", havingValue = "true")
+public class CacheCoherenceListener implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(CacheCoherenceListener.class);
+    static final String RESERVATIONS = "reservations";
+    static final String LABS = "labs";
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+    private static final Set<String> MOVED_FIELDS = Set.of("labId", "date", "startTime", "endTime",
+            "epochDay", "startMinute", "endMinute");
+    private static final Set<String> STATUS_FIELDS = Set.of("status");
+    private static final Set<String> LAB_LINK_FIELDS = Set.of("reservations");
+
+    private final MongoTemplate mongoTemplate;
+    private final LabScheduleIndex labScheduleIndex;
+    private final LabService labService;
+    private final Duration retryDelay;
+    private final Counter reservationEvents;
+    private final Counter labEvents;
+    private final Counter resets;
+
+    private volatile BsonDocument resumeToken;
+    private volatile boolean running;
+    private Thread worker;
+
+    public CacheCoherenceListener(MongoTemplate mongoTemplate, LabScheduleIndex labScheduleIndex, LabService labService,
+            @Value("${unireserva.coherence.retry-delay:PT5S}") Duration retryDelay, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.labScheduleIndex = labScheduleIndex;
+        this.labService = labService;
+        this.retryDelay = retryDelay;
+        this.reservationEvents = eventCounter(meterRegistry, RESERVATIONS);
+        this.labEvents = eventCounter(meterRegistry, LABS);
+        this.resets = Counter.builder(MetricsConfig.COHERENCE_RESETS)
+                .description("Times the local caches were cleared because the change stream could not be resumed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens the change stream before the schedule index is warmed up, so no write made in between
+     * is missed, and follows it on a background thread. The warm-up, like any later load, replays
+     * the events that arrive while it reads MongoDB.
+     */
+    @Override
+    public void start() {
+        running = true;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = null;
+        try {
+            cursor = open();
+        } catch (MongoException e) {
+            log.warn("Could not open the change stream, retrying in {}: {}", retryDelay, e.getMessage());
+        }
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = cursor;
+        worker = new Thread(() -> follow(opened), "cache-coherence");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * The resume token of the last event seen, or null before the first one.
+     */
+    BsonDocument resumeToken() {
+        return resumeToken;
+    }
+
+    private void follow(MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+        while (running) {
+            try {
+                if (cursor == null) {
+                    boolean resumed = resumeToken != null;
+                    cursor = open();
+                    if (!resumed) {
+                        reset();
+                    }
+                }
+                consume(cursor);
+            } catch (MongoException e) {
+                if (e.getCode() == CHANGE_STREAM_HISTORY_LOST || e.getCode() == CHANGE_STREAM_FATAL_ERROR) {
+                    log.warn("The change stream cannot be resumed, clearing the local caches: {}", e.getMessage());
+                    resumeToken = null;
+                } else if (running) {
+                    log.warn("The change stream failed, resuming in {}: {}", retryDelay, e.getMessage());
+                    pause();
+                }
+            } finally {
+                if (cursor != null) {
+                    close(cursor);
+                    cursor = null;
+                }
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open() {
+        var stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", RESERVATIONS, LABS))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        BsonDocument token = resumeToken;
+        return token == null ? stream.cursor() : stream.resumeAfter(token).cursor();
+    }
+
+    private void consume(MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+        while (running) {
+            ChangeStreamDocument<Document> event = cursor.tryNext();
+            if (event != null) {
+                apply(event);
+                if (event.getOperationType() == OperationType.INVALIDATE) {
+                    return;
+                }
+            }
+            BsonDocument token = cursor.getResumeToken();
+            if (token != null) {
+                resumeToken = token;
+            }
+        }
+    }
+
+    /**
+     * Applies one change to the local caches.
+     */
+    void apply(ChangeStreamDocument<Document> event) {
+        OperationType operation = event.getOperationType();
+        String collection = event.getNamespace() == null ? null : event.getNamespace().getCollectionName();
+        switch (operation) {
+            case INSERT, UPDATE, REPLACE, DELETE -> {
+                if (RESERVATIONS.equals(collection)) {
+                    reservationEvents.increment();
+                    applyReservation(event);
+                } else if (LABS.equals(collection)) {
+                    labEvents.increment();
+                    applyLab(event);
+                }
+            }
+            case INVALIDATE -> resumeToken = null;
+            default -> {
+                log.info("The change stream reported a {} event, clearing the local caches", operation);
+                reset();
+            }
+        }
+    }
+
+    private void applyReservation(ChangeStreamDocument<Document> event) {
+        String id = idOf(event.getDocumentKey());
+        OperationType operation = event.getOperationType();
+        if (operation == OperationType.DELETE) {
+            labScheduleIndex.removeById(id);
+            return;
+        }
+        boolean moved = operation == OperationType.REPLACE;
+        if (operation == OperationType.UPDATE) {
+            moved = touches(event.getUpdateDescription(), MOVED_FIELDS);
+            if (!moved && !touches(event.getUpdateDescription(), STATUS_FIELDS)) {
+                return;
+            }
+        }
+        Document current = event.getFullDocument();
+        if (current == null || moved) {
+            labScheduleIndex.removeById(id);
+        }
+        if (current == null) {
+            return;
+        }
+        Reservation reservation = mongoTemplate.getConverter().read(Reservation.class, current);
+        if (ReservationStatus.CONFIRMED.equals(reservation.getStatus())) {
+            labScheduleIndex.patch(reservation);
+        } else {
+            labScheduleIndex.remove(reservation);
+        }
+    }
+
+    private void applyLab(ChangeStreamDocument<Document> event) {
+        if (event.getOperationType() == OperationType.UPDATE
+                && !touchesOtherThan(event.getUpdateDescription(), LAB_LINK_FIELDS)) {
+            return;
+        }
+        labService.evictLabCatalog();
+    }
+
+    /**
+     * Clears the caches once the stream is open, so everything they read afterwards is either
+     * current or followed by an event.
+     */
+    private void reset() {
+        labScheduleIndex.clear();
+        labService.evictLabCatalog();
+        resets.increment();
+    }
+
+    private static boolean touches(UpdateDescription update, Set<String> fields) {
+        for (String field : changedFields(update)) {
+            if (fields.contains(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean touchesOtherThan(UpdateDescription update, Set<String> fields) {
+        for (String field : changedFields(update)) {
+            if (!fields.contains(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The top-level fields set, removed or truncated by an update.
+     */
+    private static List<String> changedFields(UpdateDescription update) {
+        List<String> fields = new ArrayList<>();
+        if (update == null) {
+            return fields;
+        }
+        if (update.getUpdatedFields() != null) {
+            update.getUpdatedFields().keySet().forEach(path -> fields.add(topLevel(path)));
+        }
+        if (update.getRemovedFields() != null) {
+            update.getRemovedFields().forEach(path -> fields.add(topLevel(path)));
+        }
+        if (update.getTruncatedArrays() != null) {
+            update.getTruncatedArrays().forEach(array -> fields.add(topLevel(array.getField())));
+        }
+        return fields;
+    }
+
+    private static String topLevel(String path) {
+        int dot = path.indexOf('.');
+        return dot < 0 ? path : path.substring(0, dot);
+    }
+
+    private static String idOf(BsonDocument documentKey) {
+        BsonValue id = documentKey.get("_id");
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String collection) {
+        return Counter.builder(MetricsConfig.COHERENCE_EVENTS)
+                .description("Change stream events applied to the local caches")
+                .tag("collection", collection)
+                .register(meterRegistry);
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void close(MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+        try {
+            cursor.close();
+        } catch (MongoException e) {
+            log.debug("Could not close the change stream cursor", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package edu.eci.UniReserva.UniReserva_Backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary alternatives to JSON for internal consumers of large payloads, such as calendar views
+ * that load a whole range of reservations.
+ *
+ * A client asks for them with {@code Accept: application/cbor} or
+ * {@code Accept: application/x-jackson-smile}, and may send request bodies in the same formats.
+ * JSON stays the default for any other {@code Accept}. The mappers are built from the one Spring
+ * Boot configures for JSON, so every format serializes the same fields.
+ *
+ * The {@code reactive} profile only offers Smile, through the default WebFlux codecs: the WebFlux
+ * Jackson CBOR encoder cannot write streams.
+ */
+@Configuration
+@Profile("!reactive")
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    private static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.build().copyWith(new CBORFactory());
+    }
+
+    private static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.build().copyWith(new SmileFactory());
+    }
+}
@@ -0,0 +1,45 @@
+package edu.eci.UniReserva.UniReserva_Backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.time.Duration;
+
+/**
+ * Caches of rarely changing data. Every cache records statistics, which Actuator publishes as
+ * {@code cache.gets} hit and miss counters.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String LAB_CATALOG = "labCatalog";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${unireserva.cache.labs.ttl:PT10M}") Duration labCatalogTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(LAB_CATALOG, Caffeine.newBuilder()
+                .expireAfterWrite(labCatalogTtl)
+                .maximumSize(1)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    /**
+     * Adds an ETag to the lab catalog response and answers {@code If-None-Match} revalidations
+     * with a bodiless 304.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> labCatalogEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/labs/allLabs");
+        return registration;
+    }
+}
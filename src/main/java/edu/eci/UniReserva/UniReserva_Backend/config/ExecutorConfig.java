@@ -0,0 +1,57 @@
+package edu.eci.UniReserva.UniReserva_Backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors for work that must not run on, or be limited by, the request threads.
+ *
+ * The lookup executor runs independent MongoDB round-trips of a single request concurrently. In
+ * the virtual-thread mode every lookup gets its own virtual thread. Otherwise a bounded pool is
+ * used; when all its threads are busy the request thread runs the lookup itself, so a saturated
+ * pool degrades to sequential calls instead of queueing or rejecting work.
+ *
+ * The hashing executor runs password hashing, which is CPU-bound, on at most one thread per core
+ * and a short queue. When both are full it rejects the work, so a login storm is answered with
+ * 503 responses instead of taking every core away from the other requests.
+ *
+ * Both are registered as non-default candidates: they are only injected by qualifier, and Spring
+ * Boot still creates its {@code applicationTaskExecutor} for asynchronous MVC responses.
+ */
+@Configuration
+public class ExecutorConfig {
+    public static final String LOOKUP_EXECUTOR = "lookupExecutor";
+    public static final String HASHING_EXECUTOR = "hashingExecutor";
+
+    @Bean(name = LOOKUP_EXECUTOR, destroyMethod = "shutdown", defaultCandidate = false)
+    public ExecutorService lookupExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${unireserva.lookup.threads:64}") int threads) {
+        if (virtualThreads) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("lookup-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Bean(name = HASHING_EXECUTOR, destroyMethod = "shutdown", defaultCandidate = false)
+    public ExecutorService hashingExecutor(@Value("${unireserva.password.threads:0}") int threads,
+            @Value("${unireserva.password.queue-size:64}") int queueSize) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), new CustomizableThreadFactory("password-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,70 @@
+package edu.eci.UniReserva.UniReserva_Backend.config;
+
+import edu.eci.UniReserva.UniReserva_Backend.idempotency.IdempotencyFilter;
+import edu.eci.UniReserva.UniReserva_Backend.idempotency.IdempotencyStore;
+import edu.eci.UniReserva.UniReserva_Backend.idempotency.InMemoryIdempotencyStore;
+import edu.eci.UniReserva.UniReserva_Backend.idempotency.MongoIdempotencyStore;
+import edu.eci.UniReserva.UniReserva_Backend.idempotency.ReactiveIdempotencyFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.WebFilter;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Makes bookings and sign-ups safe to retry with an {@code Idempotency-Key} header.
+ *
+ * Responses are kept for {@code unireserva.idempotency.ttl}. They are kept in memory by default;
+ * with several nodes, set {@code unireserva.idempotency.store=mongo} so that a retry reaching any
+ * node is recognized. The filter runs after the access token filter, so rejected tokens are never
+ * stored. Keyed requests with a body larger than {@code unireserva.idempotency.max-body-size} are
+ * answered with 413. With the MongoDB store, a request still in progress holds its key for
+ * {@code unireserva.idempotency.claim-lease}; after that a retry may run it again.
+ */
+@Configuration
+public class IdempotencyConfig {
+    static final Set<String> IDEMPOTENT_PATHS = Set.of("/reservations", "/auth/signup");
+
+    @Bean
+    @ConditionalOnProperty(name = "unireserva.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(@Value("${unireserva.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${unireserva.idempotency.max-size:100000}") long maxSize) {
+        return new InMemoryIdempotencyStore(ttl, maxSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "unireserva.idempotency.store", havingValue = "mongo")
+    public IdempotencyStore mongoIdempotencyStore(MongoTemplate mongoTemplate,
+            @Value("${unireserva.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${unireserva.idempotency.claim-lease:PT2M}") Duration claimLease) {
+        return new MongoIdempotencyStore(mongoTemplate, ttl, claimLease);
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store,
+            @Value("${unireserva.idempotency.max-body-size:64KB}") DataSize maxBodySize) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(store, IDEMPOTENT_PATHS, (int) maxBodySize.toBytes()));
+        registration.setUrlPatterns(IDEMPOTENT_PATHS);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    @Profile("reactive")
+    @Order(Ordered.HIGHEST_PRECEDENCE + 20)
+    public WebFilter reactiveIdempotencyFilter(IdempotencyStore store,
+            @Value("${unireserva.idempotency.max-body-size:64KB}") DataSize maxBodySize) {
+        return new ReactiveIdempotencyFilter(store, IDEMPOTENT_PATHS, (int) maxBodySize.toBytes());
+    }
+}
@@ -0,0 +1,29 @@
+package edu.eci.UniReserva.UniReserva_Backend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics, scraped from {@code /actuator/prometheus}.
+ *
+ * Service methods annotated with {@code @Timed(SERVICE_TIMER)} publish a latency histogram
+ * tagged with their class and method. Actuator already times every HTTP request (including the
+ * in-flight {@code http.server.requests.active} gauge), every Spring Data repository call
+ * ({@code spring.data.repository.invocations}) and every MongoDB command
+ * ({@code mongodb.driver.commands}).
+ */
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "unireserva.service";
+    public static final String RESERVATION_CONFLICTS = "unireserva.reservations.conflicts";
+    public static final String OUTBOX_APPLIED = "unireserva.outbox.applied";
+    public static final String COHERENCE_EVENTS = "unireserva.coherence.events";
+    public static final String COHERENCE_RESETS = "unireserva.coherence.resets";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
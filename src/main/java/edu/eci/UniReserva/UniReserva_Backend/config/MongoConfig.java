@@ -0,0 +1,32 @@
+package edu.eci.UniReserva.UniReserva_Backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool of the MongoDB driver.
+ *
+ * With platform threads the Tomcat pool already caps the number of concurrent queries, so the
+ * driver default is enough. With virtual threads every request gets its own thread and the pool
+ * becomes the only limit, so the {@code virtual-threads} profile raises it and bounds how long a
+ * request may wait for a connection.
+ */
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${unireserva.mongo.pool.max-size:100}") int maxSize,
+            @Value("${unireserva.mongo.pool.min-size:0}") int minSize,
+            @Value("${unireserva.mongo.pool.max-wait:PT2M}") Duration maxWait) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,22 @@
+package edu.eci.UniReserva.UniReserva_Backend.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Web server of the {@code reactive} profile.
+ *
+ * Tomcat stays on the classpath for the default servlet stack and would otherwise be picked for
+ * WebFlux too; Netty serves many idle keep-alive connections with a handful of event-loop threads.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,16 @@
+package edu.eci.UniReserva.UniReserva_Backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@code @Scheduled} background jobs, such as the reservation link outbox, on the
+ * scheduler that Spring Boot configures with the {@code spring.task.scheduling} properties.
+ *
+ * The same scheduler runs the startup index build. It has two threads, so a long index build does
+ * not hold up the outbox.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
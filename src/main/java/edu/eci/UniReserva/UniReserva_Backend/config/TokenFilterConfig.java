@@ -0,0 +1,36 @@
+package edu.eci.UniReserva.UniReserva_Backend.config;
+
+import edu.eci.UniReserva.UniReserva_Backend.security.ReactiveTokenAuthenticationFilter;
+import edu.eci.UniReserva.UniReserva_Backend.security.TokenAuthenticationFilter;
+import edu.eci.UniReserva.UniReserva_Backend.security.TokenService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * Registers the access token filter of the active web stack. It runs before the other filters so
+ * a rejected token never reaches them.
+ */
+@Configuration
+public class TokenFilterConfig {
+
+    @Bean
+    @Profile("!reactive")
+    public FilterRegistrationBean<TokenAuthenticationFilter> tokenAuthenticationFilter(TokenService tokenService) {
+        FilterRegistrationBean<TokenAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(new TokenAuthenticationFilter(tokenService));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @Profile("reactive")
+    @Order(Ordered.HIGHEST_PRECEDENCE + 10)
+    public WebFilter reactiveTokenAuthenticationFilter(TokenService tokenService) {
+        return new ReactiveTokenAuthenticationFilter(tokenService);
+    }
+}
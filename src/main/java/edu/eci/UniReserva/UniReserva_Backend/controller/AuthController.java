@@ -2,13 +2,20 @@ package edu.eci.UniReserva.UniReserva_Backend.controller;
 
 
 import edu.eci.UniReserva.UniReserva_Backend.model.LoginRequest;
+import edu.eci.UniReserva.UniReserva_Backend.model.LoginResponse;
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
+import edu.eci.UniReserva.UniReserva_Backend.security.AccessToken;
+import edu.eci.UniReserva.UniReserva_Backend.security.TokenAuthenticationFilter;
 import edu.eci.UniReserva.UniReserva_Backend.service.AuthService;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.AuthServiceImpl;
+import org.springframework.context.annotation.Profile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,6 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/auth")
 public class AuthController {
     private final AuthServiceImpl authService;
@@ -27,18 +35,38 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<Object> login(@RequestBody LoginRequest request) {
         try {
-            User user = authService.authenticateLogin(request.getEmail(), request.getPassword());
-            return ResponseEntity.status(HttpStatus.OK).body(user);
+            LoginResponse response = authService.login(request.getEmail(), request.getPassword());
+            return ResponseEntity.status(HttpStatus.OK).body(response);
         }catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    /**
+     * Returns the user identified by the access token, read from the token itself.
+     */
+    @GetMapping("/me")
+    public ResponseEntity<Object> me(@RequestAttribute(name = TokenAuthenticationFilter.ACCESS_TOKEN, required = false) AccessToken token) {
+        if (token == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Authentication required"));
+        }
+        return ResponseEntity.ok(new UserSummary(token.userId(), token.name(), token.email()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Object> logout(@RequestAttribute(name = TokenAuthenticationFilter.ACCESS_TOKEN, required = false) AccessToken token) {
+        if (token == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Authentication required"));
+        }
+        authService.logout(token);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/signup")
     public ResponseEntity<Object> createUser(@RequestBody User user) {
         try {
             User createdUser = authService.authenticateSignUp(user);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+            return ResponseEntity.status(HttpStatus.CREATED).body(UserSummary.of(createdUser));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -2,26 +2,127 @@ package edu.eci.UniReserva.UniReserva_Backend.controller;
 
 import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.LabServiceImpl;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import edu.eci.UniReserva.UniReserva_Backend.service.LabSearchService;
 import edu.eci.UniReserva.UniReserva_Backend.service.LabService;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/labs")
 public class LabController {
     private LabServiceImpl labService;
+    private final LabSearchService labSearchService;
 
-    public LabController(LabServiceImpl labService) {
+    public LabController(LabServiceImpl labService, LabSearchService labSearchService) {
         this.labService = labService;
+        this.labSearchService = labSearchService;
     }
 
+    /**
+     * Retrieves the lab catalog.
+     *
+     * The response carries an ETag and {@code Cache-Control: no-cache}, so browsers keep their copy
+     * and revalidate it with {@code If-None-Match}, getting a 304 without body while it is current.
+     *
+     * @return ResponseEntity with status 200 and the list of labs.
+     */
     @GetMapping("/allLabs")
-    public List<Lab> getAllLabs() {
-        return labService.getLabs();
+    public ResponseEntity<List<Lab>> getAllLabs() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(labService.getLabs());
     }
 
+    /**
+     * Retrieves the free and busy slots of a lab between two dates, both inclusive.
+     *
+     * @param id          Unique identifier of the lab.
+     * @param from        First date, as {@code yyyy-MM-dd}.
+     * @param to          Last date, as {@code yyyy-MM-dd}; at most 31 days after {@code from}.
+     * @param granularity Slot length in minutes, a multiple of 15 that divides a day.
+     * @return ResponseEntity with status 200 and one entry per day, or 400 if the lab does not
+     *         exist or the parameters are invalid.
+     */
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable String id, @RequestParam String from,
+            @RequestParam String to, @RequestParam(defaultValue = "15") int granularity) {
+        try {
+            return ResponseEntity.ok(labService.getAvailability(id, from, to, granularity));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Retrieves the labs that are free for a whole time slot.
+     *
+     * @param date      Date of the slot, as {@code yyyy-MM-dd}.
+     * @param startTime Start of the slot, as {@code HH:mm}.
+     * @param endTime   End of the slot, as {@code HH:mm}.
+     * @return ResponseEntity with status 200 and the free labs, or 400 if the parameters are invalid.
+     */
+    @GetMapping("/free")
+    public ResponseEntity<Object> getFreeLabs(@RequestParam String date, @RequestParam String startTime,
+            @RequestParam String endTime) {
+        try {
+            return ResponseEntity.ok(labService.getFreeLabs(labService.getLabs(), date, startTime, endTime));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Searches the labs that are free for a whole time slot and have enough seats and equipment,
+     * best fit first.
+     *
+     * @param date        Date of the slot, as {@code yyyy-MM-dd}.
+     * @param startTime   Start of the slot, as {@code HH:mm}.
+     * @param endTime     End of the slot, as {@code HH:mm}.
+     * @param minCapacity Minimum number of seats.
+     * @param equipment   Required equipment as {@code name:quantity}; may be repeated.
+     * @param limit       Maximum number of labs to return, between 1 and 100.
+     * @return ResponseEntity with status 200 and the matching labs, or 400 if the parameters are invalid.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchFreeLabs(@RequestParam String date, @RequestParam String startTime,
+            @RequestParam String endTime, @RequestParam(defaultValue = "0") int minCapacity,
+            @RequestParam(required = false) List<String> equipment, @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(labSearchService.searchFreeLabs(date, startTime, endTime, minCapacity,
+                    parseEquipment(equipment), limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static Map<String, Integer> parseEquipment(List<String> equipment) {
+        Map<String, Integer> quantities = new HashMap<>();
+        if (equipment == null) {
+            return quantities;
+        }
+        for (String item : equipment) {
+            int separator = item.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Equipment must be given as name:quantity");
+            }
+            try {
+                quantities.merge(item.substring(0, separator), Integer.parseInt(item.substring(separator + 1)), Math::max);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Equipment must be given as name:quantity");
+            }
+        }
+        return quantities;
+    }
 }
@@ -0,0 +1,26 @@
+package edu.eci.UniReserva.UniReserva_Backend.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Answers requests rejected by a saturated executor, such as the password hashing one, with
+ * 503 and a {@code Retry-After} header instead of a 500. Applies to both web stacks.
+ */
+@RestControllerAdvice
+public class OverloadExceptionHandler {
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Object> handleRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(Map.of("error", "The server is busy, please try again"));
+    }
+}
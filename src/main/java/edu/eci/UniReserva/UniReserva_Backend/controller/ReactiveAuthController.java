@@ -0,0 +1,73 @@
+package edu.eci.UniReserva.UniReserva_Backend.controller;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.LoginRequest;
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
+import edu.eci.UniReserva.UniReserva_Backend.security.AccessToken;
+import edu.eci.UniReserva.UniReserva_Backend.security.TokenAuthenticationFilter;
+import edu.eci.UniReserva.UniReserva_Backend.service.AuthService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * Authentication endpoints of the {@code reactive} profile.
+ *
+ * They reuse the blocking {@link AuthService} on the bounded elastic scheduler, so sign-up and
+ * login keep a single implementation without ever blocking a Netty event-loop thread.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/auth")
+public class ReactiveAuthController {
+    private final AuthService authService;
+
+    public ReactiveAuthController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<Object>> login(@RequestBody LoginRequest request) {
+        return Mono.fromCallable(() -> authService.login(request.getEmail(), request.getPassword()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(response -> ResponseEntity.status(HttpStatus.OK).<Object>body(response))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<Object> me(@RequestAttribute(name = TokenAuthenticationFilter.ACCESS_TOKEN, required = false) AccessToken token) {
+        if (token == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Authentication required"));
+        }
+        return ResponseEntity.ok(new UserSummary(token.userId(), token.name(), token.email()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Object> logout(@RequestAttribute(name = TokenAuthenticationFilter.ACCESS_TOKEN, required = false) AccessToken token) {
+        if (token == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Authentication required"));
+        }
+        authService.logout(token);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/signup")
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody User user) {
+        return Mono.fromCallable(() -> authService.authenticateSignUp(user))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).<Object>body(UserSummary.of(created)))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+}
@@ -0,0 +1,37 @@
+package edu.eci.UniReserva.UniReserva_Backend.controller;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.service.ReactiveLabService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * WebFlux counterpart of {@link LabController}, active with the {@code reactive} profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/labs")
+public class ReactiveLabController {
+    private final ReactiveLabService labService;
+
+    public ReactiveLabController(ReactiveLabService labService) {
+        this.labService = labService;
+    }
+
+    /**
+     * Retrieves the lab catalog.
+     *
+     * @return ResponseEntity with status 200 and the list of labs.
+     */
+    @GetMapping("/allLabs")
+    public ResponseEntity<Flux<Lab>> getAllLabs() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(labService.getLabs());
+    }
+}
@@ -0,0 +1,83 @@
+package edu.eci.UniReserva.UniReserva_Backend.controller;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.service.ReactiveReservationService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link ReservationController}, active with the {@code reactive} profile.
+ *
+ * List endpoints answer with a JSON array, or with newline-delimited JSON when the client
+ * accepts {@code application/x-ndjson}; either way reservations are written as they arrive from
+ * MongoDB, at the pace the client reads them.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/reservations")
+public class ReactiveReservationController {
+    private final ReactiveReservationService reservationService;
+
+    public ReactiveReservationController(ReactiveReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    /**
+     * Creates a new reservation.
+     *
+     * Possible responses:
+     * - 201 CREATED: The reservation was successfully created.
+     * - 400 BAD REQUEST: The reservation could not be created due to invalid data or availability conflicts.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createReservation(@RequestBody Reservation reservation) {
+        return reservationService.createReservation(reservation)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).<Object>body(created))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage())));
+    }
+
+    /**
+     * Retrieves the reservations of a user, sorted by date and start time.
+     */
+    @GetMapping(value = {"/user/{userId}", "/user/{userId}/stream"},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Reservation> getUserReservations(@PathVariable String userId) {
+        return reservationService.getReservationsByUserId(userId);
+    }
+
+    /**
+     * Cancels a reservation.
+     *
+     * @return 200 with the canceled reservation, or 400 if it does not exist or is already canceled.
+     */
+    @PutMapping("/cancel/{reservationId}")
+    public Mono<ResponseEntity<Object>> cancelReserve(@PathVariable String reservationId) {
+        return reservationService.cancelReservationByReservationId(reservationId)
+                .map(reservation -> ResponseEntity.ok().<Object>body(reservation))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+
+    /**
+     * Retrieves the reservations of a lab for a date range, both inclusive, sorted by date and
+     * start time. An invalid date is answered with 400.
+     */
+    @GetMapping(value = {"/range", "/range/stream"},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Reservation> getReservationsByRangeDate(@RequestParam String lab, @RequestParam String date1,
+            @RequestParam String date2) {
+        return reservationService.getReservationsByRangeDate(lab, date1, date2)
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+    }
+}
@@ -0,0 +1,51 @@
+package edu.eci.UniReserva.UniReserva_Backend.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
+import edu.eci.UniReserva.UniReserva_Backend.service.ReactiveUserService;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of {@link UserController}, active with the {@code reactive} profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/user")
+public class ReactiveUserController {
+    private final ReactiveUserService userService;
+
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    @PatchMapping("/update/{id}")
+    public Mono<ResponseEntity<?>> updateUser(@RequestBody User user, @PathVariable String id) {
+        return userService.updateUser(id, user)
+                .<ResponseEntity<?>>map(updated -> ResponseEntity.ok(UserSummary.of(updated)))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+
+    @GetMapping("/getUser/{id}")
+    public Mono<ResponseEntity<?>> getUserById(@PathVariable String id) {
+        return userService.getUser(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+
+    @DeleteMapping("/delete/{id}")
+    public Mono<ResponseEntity<?>> deleteUser(@PathVariable String id) {
+        return userService.deleteUser(id)
+                .<ResponseEntity<?>>map(message -> ResponseEntity.noContent().build())
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()))));
+    }
+}
@@ -1,22 +1,37 @@
 package edu.eci.UniReserva.UniReserva_Backend.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import edu.eci.UniReserva.UniReserva_Backend.model.BatchReservationRequest;
+import edu.eci.UniReserva.UniReserva_Backend.model.BatchReservationResult;
 import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.ReservationServiceImpl;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/reservations")
 public class ReservationController {
+    private static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
     private ReservationServiceImpl reservationServiceImpl;
+    private final ObjectMapper objectMapper;
 
-    public ReservationController(ReservationServiceImpl reservationServiceImpl) {
+    public ReservationController(ReservationServiceImpl reservationServiceImpl, ObjectMapper objectMapper) {
         this.reservationServiceImpl = reservationServiceImpl;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -40,6 +55,27 @@ public class ReservationController {
     }
 
 
+    /**
+     * Creates several reservations of one lab for one user, such as a weekly booking for a whole
+     * semester.
+     *
+     * @param request The slots to book, listed explicitly and/or as a recurrence.
+     * @return ResponseEntity with the result of every slot.
+     *
+     * Possible responses:
+     * - 200 OK: The batch was processed; each result holds either the created reservation id or the rejection reason.
+     * - 400 BAD REQUEST: The lab or the user does not exist, or the batch is empty or too large.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createReservations(@RequestBody BatchReservationRequest request) {
+        try {
+            List<BatchReservationResult> results = reservationServiceImpl.createReservations(request);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Retrieves a list of reservations for a specific user.
      *
@@ -51,6 +87,37 @@ public class ReservationController {
         return reservationServiceImpl.getReservationsByUserId(userId);
     }
 
+    /**
+     * Retrieves one page of the reservations of a user, sorted by date and start time.
+     *
+     * @param userId The unique identifier of the user whose reservations are to be retrieved.
+     * @param cursor The {@code nextCursor} returned with the previous page; omitted for the first page.
+     * @param size   The maximum number of reservations in the page, capped at 100.
+     * @return ResponseEntity with status 200 and the page, or 400 if a date, the cursor or the size is invalid.
+     */
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<Object> getUserReservationsPage(@PathVariable String userId,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(reservationServiceImpl.getReservationsByUserId(userId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Streams the reservations of a user as newline-delimited JSON, sorted by date and start time.
+     * Reservations are written as they are read from the database, without building the full list.
+     *
+     * @param userId The unique identifier of the user whose reservations are to be retrieved.
+     * @return ResponseEntity with status 200 and an {@code application/x-ndjson} body.
+     */
+    @GetMapping(value = "/user/{userId}/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamUserReservations(@PathVariable String userId) {
+        Stream<Reservation> reservations = reservationServiceImpl.streamReservationsByUserId(userId);
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(out -> writeNdjson(reservations, out));
+    }
+
     /**
      * Endpoint to cancel a reservation.
      *
@@ -78,12 +145,72 @@ public class ReservationController {
      * @param lab The lab to consult.
      * @param date1 The start date of the range.
      * @param date2 The end date of the range.
-     * @return ResponseEntity with status 200 if successful
+     * @return ResponseEntity with status 200 if successful, or 400 if a date is invalid.
      */
     @GetMapping("/range")
-    public ResponseEntity<List<Reservation>> getReservationsByRangeDate(@RequestParam String lab, @RequestParam String date1, @RequestParam String date2) {
-        List<Reservation> response = reservationServiceImpl.getReservationsByRangeDate(lab, date1, date2);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<Object> getReservationsByRangeDate(@RequestParam String lab, @RequestParam String date1, @RequestParam String date2) {
+        try {
+            List<Reservation> response = reservationServiceImpl.getReservationsByRangeDate(lab, date1, date2);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Retrieves one page of the reservations of a lab for a specific date range, sorted by date
+     * and start time.
+     *
+     * @param lab    The lab to consult.
+     * @param date1  The start date of the range.
+     * @param date2  The end date of the range.
+     * @param cursor The {@code nextCursor} returned with the previous page; omitted for the first page.
+     * @param size   The maximum number of reservations in the page, capped at 100.
+     * @return ResponseEntity with status 200 and the page, or 400 if a date, the cursor or the size is invalid.
+     */
+    @GetMapping("/range/page")
+    public ResponseEntity<Object> getReservationsByRangeDatePage(@RequestParam String lab, @RequestParam String date1,
+            @RequestParam String date2, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(reservationServiceImpl.getReservationsByRangeDate(lab, date1, date2, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Streams the reservations of a lab for a specific date range as newline-delimited JSON,
+     * sorted by date and start time.
+     *
+     * @param lab   The lab to consult.
+     * @param date1 The start date of the range.
+     * @param date2 The end date of the range.
+     * @return ResponseEntity with status 200 and an {@code application/x-ndjson} body, or 400 with a
+     *         JSON error if a date is invalid.
+     */
+    @GetMapping(value = "/range/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamReservationsByRangeDate(@RequestParam String lab,
+            @RequestParam String date1, @RequestParam String date2) {
+        Stream<Reservation> reservations;
+        try {
+            reservations = reservationServiceImpl.streamReservationsByRangeDate(lab, date1, date2);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = Map.of("error", e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> out.write(objectMapper.writeValueAsBytes(error)));
+        }
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(out -> writeNdjson(reservations, out));
+    }
+
+    private void writeNdjson(Stream<Reservation> reservations, OutputStream out) throws IOException {
+        try (reservations) {
+            Iterator<Reservation> iterator = reservations.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+            }
+        }
     }
 
 }
@@ -1,15 +1,18 @@
 package edu.eci.UniReserva.UniReserva_Backend.controller;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
 import edu.eci.UniReserva.UniReserva_Backend.service.UserService;
 
 import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/user")
 public class UserController {
     private final UserService userService;
@@ -23,7 +26,7 @@ public class UserController {
     public ResponseEntity<?> updateUser(@RequestBody User user, @PathVariable String id) {
         try {
             User updatedUser = userService.updateUser(id, user);
-            return ResponseEntity.ok(updatedUser);
+            return ResponseEntity.ok(UserSummary.of(updatedUser));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
@@ -34,7 +37,7 @@ public class UserController {
     @GetMapping("/getUser/{id}")
     public ResponseEntity<?> getUserById(@PathVariable String id) {
         try {
-            User user = userService.getUser(id);
+            UserSummary user = userService.getUser(id);
             return ResponseEntity.ok(user);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
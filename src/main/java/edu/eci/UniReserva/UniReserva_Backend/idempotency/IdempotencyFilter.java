@@ -0,0 +1,220 @@
+package edu.eci.UniReserva.UniReserva_Backend.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Makes the POST requests of the given paths safe to retry when they carry an
+ * {@code Idempotency-Key} header.
+ *
+ * The first request with a key claims it in the {@link IdempotencyStore} and runs normally; its
+ * response is stored unless it is a server error. A retry with the same key and body gets the
+ * stored response back, marked with {@code Idempotent-Replayed: true}, without reaching the
+ * controller. A retry while the first request is still running is answered with 409, and a
+ * request that reuses a key with a different body with 422. Requests without the header are not
+ * affected.
+ *
+ * The body is held in memory to fingerprint it, so a keyed request whose body is larger than
+ * {@code maxBodySize} bytes is answered with 413 before it is read any further.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+    static final String INVALID_KEY_BODY = "{\"error\":\"The Idempotency-Key must have between 1 and "
+            + MAX_KEY_LENGTH + " characters\"}";
+    static final String IN_PROGRESS_BODY = "{\"error\":\"A request with this Idempotency-Key is still in progress\"}";
+    static final String KEY_REUSED_BODY = "{\"error\":\"The Idempotency-Key was already used with a different request\"}";
+    static final String BODY_TOO_LARGE_BODY = "{\"error\":\"The request body is too large\"}";
+
+    private final IdempotencyStore store;
+    private final Set<String> paths;
+    private final int maxBodySize;
+
+    public IdempotencyFilter(IdempotencyStore store, Set<String> paths, int maxBodySize) {
+        this.store = store;
+        this.paths = paths;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !paths.contains(request.getRequestURI())
+                || request.getHeader(IDEMPOTENCY_KEY) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY);
+        if (!isValidKey(key)) {
+            writeJson(response, HttpStatus.BAD_REQUEST, INVALID_KEY_BODY);
+            return;
+        }
+        if (request.getContentLengthLong() > maxBodySize) {
+            writeJson(response, HttpStatus.PAYLOAD_TOO_LARGE, BODY_TOO_LARGE_BODY);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            writeJson(response, HttpStatus.PAYLOAD_TOO_LARGE, BODY_TOO_LARGE_BODY);
+            return;
+        }
+        String storeKey = storeKey(request.getMethod(), request.getRequestURI(), key);
+        String fingerprint = fingerprint(body);
+
+        Optional<IdempotencyRecord> stored = store.claim(storeKey, fingerprint);
+        if (stored.isPresent()) {
+            replay(stored.get(), fingerprint, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), captured);
+            if (captured.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                store.complete(storeKey, new IdempotencyRecord(fingerprint, captured.getStatus(),
+                        captured.getContentType(), captured.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.release(storeKey);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(IdempotencyRecord stored, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            writeJson(response, HttpStatus.UNPROCESSABLE_ENTITY, KEY_REUSED_BODY);
+        } else if (!stored.isCompleted()) {
+            writeJson(response, HttpStatus.CONFLICT, IN_PROGRESS_BODY);
+        } else {
+            response.setStatus(stored.status());
+            if (stored.contentType() != null) {
+                response.setContentType(stored.contentType());
+            }
+            response.setHeader(REPLAYED, "true");
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private static void writeJson(HttpServletResponse response, HttpStatus status, String body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(body);
+    }
+
+    static boolean isValidKey(String key) {
+        return !key.isBlank() && key.length() <= MAX_KEY_LENGTH;
+    }
+
+    /**
+     * Scopes a key to the endpoint, so the same key sent to two endpoints means two requests.
+     */
+    static String storeKey(String method, String path, String key) {
+        return method + " " + path + " " + key;
+    }
+
+    static String fingerprint(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A request whose body has already been read, served again from memory.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so it is available, and then read, at once.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package edu.eci.UniReserva.UniReserva_Backend.idempotency;
+
+/**
+ * What an {@link IdempotencyStore} keeps under an idempotency key: the fingerprint of the request
+ * body and, once the request has completed, its response.
+ *
+ * @param fingerprint SHA-256 of the request body, in base64.
+ * @param status      HTTP status of the response, or null while the request is in progress.
+ * @param contentType Content type of the response, or null if it had none.
+ * @param body        Bytes of the response body.
+ */
+public record IdempotencyRecord(String fingerprint, Integer status, String contentType, byte[] body) {
+
+    public static IdempotencyRecord inProgress(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, null, null, new byte[0]);
+    }
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
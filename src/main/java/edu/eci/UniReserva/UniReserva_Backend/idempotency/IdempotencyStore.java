@@ -0,0 +1,28 @@
+package edu.eci.UniReserva.UniReserva_Backend.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Remembers the responses of requests sent with an {@code Idempotency-Key} for a limited time.
+ */
+public interface IdempotencyStore {
+    /**
+     * Claims a key for a new request, as one atomic step.
+     *
+     * @param key         Idempotency key, scoped to the method and path of the request.
+     * @param fingerprint Fingerprint of the request body.
+     * @return Empty if the key was free and now belongs to the caller, or the record already
+     *         stored under it.
+     */
+    Optional<IdempotencyRecord> claim(String key, String fingerprint);
+
+    /**
+     * Stores the response of a claimed key, to be replayed to the retries of the request.
+     */
+    void complete(String key, IdempotencyRecord response);
+
+    /**
+     * Frees a claimed key whose request failed, so that a retry runs it again.
+     */
+    void release(String key);
+}
@@ -0,0 +1,37 @@
+package edu.eci.UniReserva.UniReserva_Backend.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Keeps the idempotency records of this node in a bounded Caffeine cache. Retries reaching
+ * another node are not recognized; use {@link MongoIdempotencyStore} with several nodes.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final Cache<String, IdempotencyRecord> records;
+
+    public InMemoryIdempotencyStore(Duration ttl, long maxSize) {
+        this.records = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint) {
+        return Optional.ofNullable(records.asMap().putIfAbsent(key, IdempotencyRecord.inProgress(fingerprint)));
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord response) {
+        records.put(key, response);
+    }
+
+    @Override
+    public void release(String key) {
+        records.asMap().computeIfPresent(key, (k, record) -> record.isCompleted() ? record : null);
+    }
+}
@@ -0,0 +1,84 @@
+package edu.eci.UniReserva.UniReserva_Backend.idempotency;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Keeps the idempotency records in the {@code idempotency_keys} collection, shared by every node.
+ *
+ * A key is claimed by inserting its document, so two nodes can never both claim it, and MongoDB
+ * removes the documents with a TTL index on their creation time. A request still in progress holds
+ * its key only for a short lease: once {@code claimedAt} is older than the lease, a retry takes the
+ * key over with a conditional update, so a node that stopped mid-request does not block its
+ * retries until the record expires.
+ */
+public class MongoIdempotencyStore implements IdempotencyStore {
+    static final String COLLECTION = "idempotency_keys";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration claimLease;
+
+    public MongoIdempotencyStore(MongoTemplate mongoTemplate, Duration ttl, Duration claimLease) {
+        this.mongoTemplate = mongoTemplate;
+        this.claimLease = claimLease;
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index()
+                .named("created_ttl_idx")
+                .on("createdAt", Sort.Direction.ASC)
+                .expire(ttl));
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint) {
+        Date now = new Date();
+        try {
+            mongoTemplate.insert(new Document("_id", key)
+                    .append("fingerprint", fingerprint)
+                    .append("createdAt", now)
+                    .append("claimedAt", now), COLLECTION);
+            return Optional.empty();
+        } catch (DuplicateKeyException e) {
+            Document abandoned = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(key)
+                            .and("status").exists(false)
+                            .and("claimedAt").lt(Date.from(now.toInstant().minus(claimLease)))),
+                    new Update()
+                            .set("fingerprint", fingerprint)
+                            .set("createdAt", now)
+                            .set("claimedAt", now),
+                    Document.class, COLLECTION);
+            if (abandoned != null) {
+                return Optional.empty();
+            }
+            Document stored = mongoTemplate.findById(key, Document.class, COLLECTION);
+            if (stored == null) {
+                return claim(key, fingerprint);
+            }
+            Binary body = stored.get("body", Binary.class);
+            return Optional.of(new IdempotencyRecord(stored.getString("fingerprint"), stored.getInteger("status"),
+                    stored.getString("contentType"), body == null ? new byte[0] : body.getData()));
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord response) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(key)), new Update()
+                .set("status", response.status())
+                .set("contentType", response.contentType())
+                .set("body", new Binary(response.body())), COLLECTION);
+    }
+
+    @Override
+    public void release(String key) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(key).and("status").exists(false)), COLLECTION);
+    }
+}
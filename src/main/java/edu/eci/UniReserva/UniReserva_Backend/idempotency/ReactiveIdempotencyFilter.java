@@ -0,0 +1,159 @@
+package edu.eci.UniReserva.UniReserva_Backend.idempotency;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Handles the {@code Idempotency-Key} header in the {@code reactive} profile, like
+ * {@link IdempotencyFilter} does for the servlet stack, including the 413 answer for a body
+ * larger than {@code maxBodySize} bytes. Store calls may block, so they run on the bounded
+ * elastic scheduler.
+ */
+public class ReactiveIdempotencyFilter implements WebFilter {
+    private final IdempotencyStore store;
+    private final Set<String> paths;
+    private final int maxBodySize;
+
+    public ReactiveIdempotencyFilter(IdempotencyStore store, Set<String> paths, int maxBodySize) {
+        this.store = store;
+        this.paths = paths;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String key = request.getHeaders().getFirst(IdempotencyFilter.IDEMPOTENCY_KEY);
+        if (key == null || request.getMethod() != HttpMethod.POST || !paths.contains(request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+        if (!IdempotencyFilter.isValidKey(key)) {
+            return writeJson(exchange.getResponse(), HttpStatus.BAD_REQUEST, IdempotencyFilter.INVALID_KEY_BODY);
+        }
+        if (request.getHeaders().getContentLength() > maxBodySize) {
+            return writeJson(exchange.getResponse(), HttpStatus.PAYLOAD_TOO_LARGE,
+                    IdempotencyFilter.BODY_TOO_LARGE_BODY);
+        }
+        String storeKey = IdempotencyFilter.storeKey(request.getMethod().name(), request.getPath().value(), key);
+        return DataBufferUtils.join(request.getBody(), maxBodySize)
+                .map(ReactiveIdempotencyFilter::toBytes)
+                .defaultIfEmpty(new byte[0])
+                .onErrorResume(DataBufferLimitException.class, e -> writeJson(exchange.getResponse(),
+                        HttpStatus.PAYLOAD_TOO_LARGE, IdempotencyFilter.BODY_TOO_LARGE_BODY).then(Mono.empty()))
+                .flatMap(body -> {
+                    String fingerprint = IdempotencyFilter.fingerprint(body);
+                    return supplyBlocking(() -> store.claim(storeKey, fingerprint))
+                            .flatMap(stored -> stored.isPresent()
+                                    ? replay(stored.get(), fingerprint, exchange.getResponse())
+                                    : proceed(exchange, chain, storeKey, fingerprint, body));
+                });
+    }
+
+    private Mono<Void> proceed(ServerWebExchange exchange, WebFilterChain chain, String storeKey, String fingerprint,
+            byte[] body) {
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+            }
+        };
+        CapturingResponse response = new CapturingResponse(exchange.getResponse());
+        return chain.filter(exchange.mutate().request(request).response(response).build())
+                .then(Mono.defer(() -> {
+                    HttpStatusCode status = response.getStatusCode();
+                    int code = status == null ? HttpStatus.OK.value() : status.value();
+                    if (code >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                        return runBlocking(() -> store.release(storeKey));
+                    }
+                    MediaType contentType = response.getHeaders().getContentType();
+                    return runBlocking(() -> store.complete(storeKey, new IdempotencyRecord(fingerprint, code,
+                            contentType == null ? null : contentType.toString(), response.body)));
+                }))
+                .onErrorResume(e -> runBlocking(() -> store.release(storeKey)).then(Mono.error(e)));
+    }
+
+    private static Mono<Void> replay(IdempotencyRecord stored, String fingerprint, ServerHttpResponse response) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            return writeJson(response, HttpStatus.UNPROCESSABLE_ENTITY, IdempotencyFilter.KEY_REUSED_BODY);
+        }
+        if (!stored.isCompleted()) {
+            return writeJson(response, HttpStatus.CONFLICT, IdempotencyFilter.IN_PROGRESS_BODY);
+        }
+        response.setStatusCode(HttpStatusCode.valueOf(stored.status()));
+        if (stored.contentType() != null) {
+            response.getHeaders().setContentType(MediaType.parseMediaType(stored.contentType()));
+        }
+        response.getHeaders().set(IdempotencyFilter.REPLAYED, "true");
+        response.getHeaders().setContentLength(stored.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(stored.body())));
+    }
+
+    private static Mono<Void> writeJson(ServerHttpResponse response, HttpStatus status, String body) {
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static <T> Mono<T> supplyBlocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static Mono<Void> runBlocking(Runnable call) {
+        return Mono.<Void>fromRunnable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    /**
+     * A response that keeps a copy of the body it writes.
+     */
+    private static final class CapturingResponse extends ServerHttpResponseDecorator {
+        private byte[] body = new byte[0];
+
+        CapturingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(Flux.from(body))
+                    .flatMap(joined -> {
+                        int start = joined.readPosition();
+                        this.body = new byte[joined.readableByteCount()];
+                        joined.read(this.body);
+                        joined.readPosition(start);
+                        return super.writeWith(Mono.just(joined));
+                    });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).flatMapSequential(p -> p));
+        }
+    }
+}
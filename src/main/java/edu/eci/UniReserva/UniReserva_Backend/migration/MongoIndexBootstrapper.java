@@ -0,0 +1,131 @@
+package edu.eci.UniReserva.UniReserva_Backend.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Creates the indexes declared with {@code @Indexed} and {@code @CompoundIndex} on every
+ * {@code @Document} class. Index auto-creation is turned off, so this is the only place that
+ * builds them. Creating an index that already exists with the same keys and options does nothing,
+ * so running it on every startup is safe.
+ *
+ * Unique indexes, such as the one on the user email, are what stops duplicates, so they are
+ * created while the application starts, before the web server accepts requests. If one cannot be
+ * created, because MongoDB cannot be reached, the stored data violates it or it conflicts with an
+ * existing index, startup fails.
+ *
+ * The other indexes only speed up queries. They are created on the task scheduler once the
+ * application is ready, so startup and the first requests never wait for their build. If MongoDB
+ * cannot be reached, that run is retried after {@code unireserva.indexes.retry-delay}; an index
+ * that conflicts with an existing one is logged and skipped, since a retry would not fix it.
+ */
+@Component
+public class MongoIndexBootstrapper implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexBootstrapper.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final TaskScheduler taskScheduler;
+    private final Duration retryDelay;
+
+    public MongoIndexBootstrapper(MongoTemplate mongoTemplate, MongoMappingContext mappingContext,
+            TaskScheduler taskScheduler, @Value("${unireserva.indexes.retry-delay:PT30S}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.taskScheduler = taskScheduler;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Creates the unique indexes before the web server starts.
+     *
+     * @throws IllegalStateException if one of them cannot be created.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        int ensured = ensureIndexes(true);
+        log.info("Ensured {} unique MongoDB indexes", ensured);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.schedule(this::run, Instant.now());
+    }
+
+    void run() {
+        try {
+            int ensured = ensureIndexes(false);
+            log.info("Ensured {} MongoDB indexes", ensured);
+        } catch (DataAccessResourceFailureException e) {
+            log.warn("Could not ensure the MongoDB indexes, retrying in {}: {}", retryDelay, e.getMessage());
+            taskScheduler.schedule(this::run, Instant.now().plus(retryDelay));
+        }
+    }
+
+    /**
+     * Creates every declared index that does not exist yet.
+     *
+     * @return The number of indexes that exist once the call returns.
+     * @throws IllegalStateException if a unique index cannot be created.
+     * @throws DataAccessResourceFailureException if MongoDB cannot be reached.
+     */
+    public int ensureIndexes() {
+        return ensureIndexes(true) + ensureIndexes(false);
+    }
+
+    private int ensureIndexes(boolean unique) {
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        int ensured = 0;
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            for (IndexDefinition index : resolver.resolveIndexFor(entity.getType())) {
+                if (isUnique(index) != unique) {
+                    continue;
+                }
+                try {
+                    mongoTemplate.indexOps(entity.getType()).ensureIndex(index);
+                    ensured++;
+                } catch (DataAccessException e) {
+                    if (unique) {
+                        throw new IllegalStateException("Could not create the unique index " + nameOf(index)
+                                + " on " + entity.getCollection() + ": " + e.getMessage(), e);
+                    }
+                    if (e instanceof DataAccessResourceFailureException) {
+                        throw e;
+                    }
+                    log.error("Could not create index {} on {}: {}", nameOf(index), entity.getCollection(),
+                            e.getMessage());
+                }
+            }
+        }
+        return ensured;
+    }
+
+    private static boolean isUnique(IndexDefinition index) {
+        return Boolean.TRUE.equals(index.getIndexOptions().get("unique"));
+    }
+
+    private static Object nameOf(IndexDefinition index) {
+        Object name = index.getIndexOptions().get("name");
+        return name != null ? name : index.getIndexKeys().toJson();
+    }
+}
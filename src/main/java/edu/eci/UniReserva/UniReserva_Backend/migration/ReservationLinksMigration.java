@@ -0,0 +1,92 @@
+package edu.eci.UniReserva.UniReserva_Backend.migration;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds the {@code reservations} id lists embedded in labs and users from the reservations
+ * collection.
+ *
+ * Before bookings used atomic {@code $addToSet} updates, the lists were rewritten with a
+ * read-modify-write save, so concurrent bookings could drop ids. This one-off repair adds back
+ * every missing id with bulk {@code $addToSet $each} updates. It is disabled by default; enable it
+ * for a single start with {@code unireserva.migration.rebuild-reservation-links=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "unireserva.migration.rebuild-reservation-links", havingValue = "true")
+public class ReservationLinksMigration implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(ReservationLinksMigration.class);
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReservationLinksMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate();
+    }
+
+    /**
+     * Adds every reservation id to the lists of its lab and its user.
+     *
+     * @return The number of reservations processed.
+     */
+    public int migrate() {
+        Query query = new Query();
+        query.fields().include("labId", "userId");
+
+        int processed = 0;
+        Map<String, List<String>> byLab = new HashMap<>();
+        Map<String, List<String>> byUser = new HashMap<>();
+        try (Stream<Reservation> reservations = mongoTemplate.stream(query, Reservation.class)) {
+            Iterator<Reservation> iterator = reservations.iterator();
+            while (iterator.hasNext()) {
+                Reservation reservation = iterator.next();
+                byLab.computeIfAbsent(reservation.getLabId(), id -> new ArrayList<>()).add(reservation.getId());
+                byUser.computeIfAbsent(reservation.getUserId(), id -> new ArrayList<>()).add(reservation.getId());
+                if (++processed % BATCH_SIZE == 0) {
+                    flush(byLab, Lab.class);
+                    flush(byUser, User.class);
+                }
+            }
+        }
+        flush(byLab, Lab.class);
+        flush(byUser, User.class);
+        log.info("Rebuilt lab and user reservation lists from {} reservations", processed);
+        return processed;
+    }
+
+    private void flush(Map<String, List<String>> idsByOwner, Class<?> ownerType) {
+        if (idsByOwner.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ownerType);
+        idsByOwner.forEach((ownerId, reservationIds) -> bulk.updateOne(
+                Query.query(Criteria.where("_id").is(ownerId)),
+                new Update().addToSet("reservations").each(reservationIds.toArray())));
+        bulk.execute();
+        idsByOwner.clear();
+    }
+}
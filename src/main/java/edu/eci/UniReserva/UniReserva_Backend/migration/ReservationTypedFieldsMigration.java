@@ -0,0 +1,82 @@
+package edu.eci.UniReserva.UniReserva_Backend.migration;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Backfills the typed {@code epochDay}, {@code startMinute} and {@code endMinute} fields of the
+ * reservations stored before those fields existed.
+ *
+ * Runs on every startup, before the schedule index is warmed, and only touches documents that
+ * still lack {@code epochDay}, so once the collection is migrated it costs a single empty query.
+ */
+@Component
+public class ReservationTypedFieldsMigration implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(ReservationTypedFieldsMigration.class);
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReservationTypedFieldsMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate();
+    }
+
+    /**
+     * Writes the typed fields of every reservation that does not have them yet.
+     *
+     * @return The number of migrated reservations.
+     */
+    public int migrate() {
+        Query pending = new Query(Criteria.where("epochDay").exists(false));
+        pending.fields().include("date", "startTime", "endTime");
+
+        int migrated = 0;
+        int queued = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Reservation.class);
+        try (Stream<Reservation> reservations = mongoTemplate.stream(pending, Reservation.class)) {
+            Iterator<Reservation> iterator = reservations.iterator();
+            while (iterator.hasNext()) {
+                Reservation reservation = iterator.next();
+                try {
+                    bulk.updateOne(Query.query(Criteria.where("_id").is(reservation.getId())), new Update()
+                            .set("epochDay", reservation.getEpochDay())
+                            .set("startMinute", reservation.getStartMinute())
+                            .set("endMinute", reservation.getEndMinute()));
+                } catch (DateTimeParseException | NullPointerException e) {
+                    log.warn("Skipping reservation {} with an invalid date or time: {}", reservation.getId(), e.getMessage());
+                    continue;
+                }
+                if (++queued == BATCH_SIZE) {
+                    migrated += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Reservation.class);
+                    queued = 0;
+                }
+            }
+        }
+        if (queued > 0) {
+            migrated += bulk.execute().getModifiedCount();
+        }
+        if (migrated > 0) {
+            log.info("Backfilled typed date and time fields of {} reservations", migrated);
+        }
+        return migrated;
+    }
+}
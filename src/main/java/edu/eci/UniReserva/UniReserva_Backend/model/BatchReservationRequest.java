@@ -0,0 +1,47 @@
+package edu.eci.UniReserva.UniReserva_Backend.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Several reservations of one lab for one user, typically a weekly booking for a whole semester.
+ *
+ * The slots are either listed explicitly in {@code slots}, or described as a recurrence: every
+ * {@code intervalDays} days from {@code firstDate} to {@code lastDate}, both inclusive, from
+ * {@code startTime} to {@code endTime}. Both forms may be combined.
+ */
+@Getter
+@Setter
+public class BatchReservationRequest {
+    private String userId;
+    private String labId;
+    private String purpose;
+
+    private String firstDate;
+    private String lastDate;
+    private int intervalDays = 7;
+    private String startTime;
+    private String endTime;
+
+    private List<Slot> slots = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Slot {
+        private String date;
+        private String startTime;
+        private String endTime;
+
+        public Slot() {
+        }
+
+        public Slot(String date, String startTime, String endTime) {
+            this.date = date;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package edu.eci.UniReserva.UniReserva_Backend.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+/**
+ * Outcome of one slot of a batch booking: the id of the created reservation, or the reason it
+ * was rejected.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchReservationResult {
+    private final String date;
+    private final String startTime;
+    private final String endTime;
+    private final String reservationId;
+    private final String error;
+
+    private BatchReservationResult(String date, String startTime, String endTime, String reservationId, String error) {
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.reservationId = reservationId;
+        this.error = error;
+    }
+
+    public static BatchReservationResult created(Reservation reservation) {
+        return new BatchReservationResult(reservation.getDate(), reservation.getStartTime(), reservation.getEndTime(),
+                reservation.getId(), null);
+    }
+
+    public static BatchReservationResult rejected(Reservation reservation, String error) {
+        return new BatchReservationResult(reservation.getDate(), reservation.getStartTime(), reservation.getEndTime(),
+                null, error);
+    }
+
+    public boolean isCreated() {
+        return error == null;
+    }
+}
@@ -0,0 +1,16 @@
+package edu.eci.UniReserva.UniReserva_Backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Free and busy time slots of a lab on one day, in chronological order.
+ */
+@Getter
+@AllArgsConstructor
+public class DayAvailability {
+    private final String date;
+    private final List<SlotAvailability> slots;
+}
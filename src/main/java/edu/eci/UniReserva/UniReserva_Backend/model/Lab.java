@@ -1,5 +1,6 @@
 package edu.eci.UniReserva.UniReserva_Backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -46,6 +47,7 @@ public class Lab {
         this.capacity = capacity;
     }
 
+    @JsonIgnore
     public List<String> getReservations() {
         return reservations;
     }
@@ -0,0 +1,19 @@
+package edu.eci.UniReserva.UniReserva_Backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Answer to a successful login: the access token to send in the {@code Authorization} header of
+ * later requests and the user it identifies.
+ */
+@Getter
+@AllArgsConstructor
+public class LoginResponse {
+    private final String token;
+    private final String tokenType;
+    private final Instant expiresAt;
+    private final UserSummary user;
+}
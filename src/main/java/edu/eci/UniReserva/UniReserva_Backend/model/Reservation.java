@@ -2,18 +2,35 @@ package edu.eci.UniReserva.UniReserva_Backend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 
+/**
+ * A lab reservation.
+ *
+ * Date and times are exposed to clients as {@code yyyy-MM-dd} and {@code HH:mm} strings, and are
+ * also persisted as an epoch day and as minutes since midnight. The typed fields are what the
+ * queries, indexes and availability checks use; they are derived from the strings once and kept
+ * out of the JSON view.
+ *
+ * {@code linksPending} is the outbox of the reservation: it is written with the reservation and
+ * stays set until its id has been added to the lists of its lab and its user.
+ */
 @Setter
 @Getter
 @Document(collection = "reservations")
+@CompoundIndex(name = "lab_day_idx", def = "{'labId': 1, 'epochDay': 1, 'startMinute': 1, '_id': 1}")
+@CompoundIndex(name = "user_day_idx", def = "{'userId': 1, 'epochDay': 1, 'startMinute': 1, '_id': 1}")
+@CompoundIndex(name = "status_day_idx", def = "{'status': 1, 'epochDay': 1}")
 public class Reservation {
     @Id
     private String id;
@@ -25,6 +42,17 @@ public class Reservation {
     private String purpose;
     private ReservationStatus status = ReservationStatus.CONFIRMED;
 
+    @Setter(AccessLevel.NONE)
+    private Integer epochDay;
+    @Setter(AccessLevel.NONE)
+    private Integer startMinute;
+    @Setter(AccessLevel.NONE)
+    private Integer endMinute;
+
+    @JsonIgnore
+    @Indexed(name = "links_pending_idx", sparse = true)
+    private Boolean linksPending;
+
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -41,26 +69,95 @@ public class Reservation {
         this.purpose = purpose;
     }
 
+    public void setDate(String date) {
+        this.date = date;
+        this.epochDay = null;
+    }
+
+    public void setStartTime(String startTime) {
+        this.startTime = startTime;
+        this.startMinute = null;
+    }
+
+    public void setEndTime(String endTime) {
+        this.endTime = endTime;
+        this.endMinute = null;
+    }
+
+    /**
+     * Days since 1970-01-01 of the reservation date, parsed from {@link #getDate()} on first use.
+     */
+    @JsonIgnore
+    public int getEpochDay() {
+        if (epochDay == null) {
+            epochDay = (int) parseDate(date).toEpochDay();
+        }
+        return epochDay;
+    }
+
+    /**
+     * Minutes since midnight of the start time, parsed from {@link #getStartTime()} on first use.
+     */
+    @JsonIgnore
+    public int getStartMinute() {
+        if (startMinute == null) {
+            startMinute = toMinuteOfDay(parseTime(startTime));
+        }
+        return startMinute;
+    }
+
+    /**
+     * Minutes since midnight of the end time, parsed from {@link #getEndTime()} on first use.
+     */
+    @JsonIgnore
+    public int getEndMinute() {
+        if (endMinute == null) {
+            endMinute = toMinuteOfDay(parseTime(endTime));
+        }
+        return endMinute;
+    }
+
+    /**
+     * Derives every typed field that is still missing, so that they are all written to the database.
+     */
+    public void resolveTypedFields() {
+        getEpochDay();
+        getStartMinute();
+        getEndMinute();
+    }
+
     @JsonIgnore
     public LocalDate getParsedDate() {
-        return parseDate(date);
+        return LocalDate.ofEpochDay(getEpochDay());
     }
 
     @JsonIgnore
     public LocalTime getParsedStartTime() {
-        return parseTime(startTime);
+        return toLocalTime(getStartMinute());
     }
 
     @JsonIgnore
     public LocalTime getParsedEndTime() {
-        return parseTime(endTime);
+        return toLocalTime(getEndMinute());
+    }
+
+    public static int toEpochDay(String date) {
+        return (int) parseDate(date).toEpochDay();
+    }
+
+    public static int toMinuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static LocalTime toLocalTime(int minuteOfDay) {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
     }
 
-    private LocalDate parseDate(String date) {
+    private static LocalDate parseDate(String date) {
         return LocalDate.parse(date, DATE_FORMATTER);
     }
 
-    private LocalTime parseTime(String time) {
+    private static LocalTime parseTime(String time) {
         return LocalTime.parse(time, TIME_FORMATTER);
     }
 }
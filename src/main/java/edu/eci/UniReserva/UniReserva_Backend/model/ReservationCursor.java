@@ -0,0 +1,47 @@
+package edu.eci.UniReserva.UniReserva_Backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a reservation in the {@code (epochDay, startMinute, id)} order used by the paginated
+ * listings. Clients receive it as an opaque URL-safe token and send it back to get the next page.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationCursor {
+    private final int epochDay;
+    private final int startMinute;
+    private final String id;
+
+    public static ReservationCursor of(Reservation reservation) {
+        return new ReservationCursor(reservation.getEpochDay(), reservation.getStartMinute(), reservation.getId());
+    }
+
+    public String encode() {
+        String raw = epochDay + ":" + startMinute + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token The token, or null for the first page.
+     * @return The cursor, or null if no token was given.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static ReservationCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+            return new ReservationCursor(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), parts[2]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
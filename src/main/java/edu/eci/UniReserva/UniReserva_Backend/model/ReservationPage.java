@@ -0,0 +1,16 @@
+package edu.eci.UniReserva.UniReserva_Backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a reservation listing. {@code nextCursor} is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationPage {
+    private final List<Reservation> items;
+    private final String nextCursor;
+}
@@ -0,0 +1,15 @@
+package edu.eci.UniReserva.UniReserva_Backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One time slot of an availability query. The last slot of a day ends at {@code 24:00}.
+ */
+@Getter
+@AllArgsConstructor
+public class SlotAvailability {
+    private final String startTime;
+    private final String endTime;
+    private final boolean free;
+}
@@ -4,13 +4,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+/**
+ * A user account. The email identifies the user at login and is unique across accounts, which
+ * the {@link #EMAIL_INDEX} enforces.
+ */
 @Document(collection = "users")
 public class User {
+    public static final String EMAIL_INDEX = "email_unique_idx";
+
     @Id
     private String id;
     private String name;
+    @Indexed(name = EMAIL_INDEX, unique = true)
     private String email;
     private String password;
     private List<String> reservations = new ArrayList<>();
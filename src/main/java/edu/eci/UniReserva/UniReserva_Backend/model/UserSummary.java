@@ -0,0 +1,19 @@
+package edu.eci.UniReserva.UniReserva_Backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Public identity of a user, without the password or the reservation ids.
+ */
+@Getter
+@AllArgsConstructor
+public class UserSummary {
+    private final String id;
+    private final String name;
+    private final String email;
+
+    public static UserSummary of(User user) {
+        return new UserSummary(user.getId(), user.getName(), user.getEmail());
+    }
+}
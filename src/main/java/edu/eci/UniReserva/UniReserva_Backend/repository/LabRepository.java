@@ -2,8 +2,16 @@ package edu.eci.UniReserva.UniReserva_Backend.repository;
 
 import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface LabRepository extends MongoRepository<Lab, String> {
+public interface LabRepository extends MongoRepository<Lab, String>, LabRepositoryCustom {
+    /**
+     * Find all labs without loading their reservation id lists, which grow with every booking.
+     */
+    @Query(value = "{}", fields = "{ 'reservations': 0 }")
+    List<Lab> findAllWithoutReservations();
 }
@@ -0,0 +1,24 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import java.util.Collection;
+
+/**
+ * Atomic updates on the {@code reservations} id list embedded in lab documents.
+ */
+public interface LabRepositoryCustom {
+    /**
+     * Adds a reservation id to the lab with a single $addToSet update, without loading the lab.
+     *
+     * @param labId Unique identifier of the lab.
+     * @param reservationId Unique identifier of the reservation.
+     */
+    void addReservation(String labId, String reservationId);
+
+    /**
+     * Adds several reservation ids to the lab with a single $addToSet $each update.
+     *
+     * @param labId Unique identifier of the lab.
+     * @param reservationIds Unique identifiers of the reservations.
+     */
+    void addReservations(String labId, Collection<String> reservationIds);
+}
@@ -0,0 +1,29 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+
+public class LabRepositoryCustomImpl implements LabRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public LabRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void addReservation(String labId, String reservationId) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(labId)),
+                new Update().addToSet("reservations", reservationId), Lab.class);
+    }
+
+    @Override
+    public void addReservations(String labId, Collection<String> reservationIds) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(labId)),
+                new Update().addToSet("reservations").each(reservationIds.toArray()), Lab.class);
+    }
+}
@@ -0,0 +1,16 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveLabRepository extends ReactiveMongoRepository<Lab, String>, ReactiveLabRepositoryCustom {
+    /**
+     * Finds every lab without loading its embedded reservation id list.
+     */
+    @Query(value = "{}", fields = "{ 'reservations': 0 }")
+    Flux<Lab> findAllWithoutReservations();
+}
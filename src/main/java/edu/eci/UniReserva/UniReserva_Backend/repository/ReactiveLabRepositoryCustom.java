@@ -0,0 +1,16 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking atomic updates on the {@code reservations} id list embedded in lab documents.
+ */
+public interface ReactiveLabRepositoryCustom {
+    /**
+     * Adds a reservation id to the lab with a single $addToSet update, without loading the lab.
+     *
+     * @param labId Unique identifier of the lab.
+     * @param reservationId Unique identifier of the reservation.
+     */
+    Mono<Void> addReservation(String labId, String reservationId);
+}
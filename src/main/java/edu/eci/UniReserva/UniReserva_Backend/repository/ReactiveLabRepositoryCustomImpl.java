@@ -0,0 +1,22 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+public class ReactiveLabRepositoryCustomImpl implements ReactiveLabRepositoryCustom {
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveLabRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Void> addReservation(String labId, String reservationId) {
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(labId)),
+                new Update().addToSet("reservations", reservationId), Lab.class).then();
+    }
+}
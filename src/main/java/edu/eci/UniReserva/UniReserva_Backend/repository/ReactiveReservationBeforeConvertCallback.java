@@ -0,0 +1,21 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link ReservationBeforeConvertCallback}, applied to reservations
+ * stored through the reactive repositories and template.
+ */
+@Component
+public class ReactiveReservationBeforeConvertCallback implements ReactiveBeforeConvertCallback<Reservation> {
+
+    @Override
+    public Publisher<Reservation> onBeforeConvert(Reservation reservation, String collection) {
+        reservation.resolveTypedFields();
+        return Mono.just(reservation);
+    }
+}
@@ -0,0 +1,42 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking repository for managing reservations in MongoDB, used by the {@code reactive}
+ * profile. Results are emitted as the driver reads them from the cursor, following the demand
+ * of the subscriber.
+ */
+@Repository
+public interface ReactiveReservationRepository extends ReactiveMongoRepository<Reservation, String> {
+    /**
+     * Checks whether a user has any reservation, whatever its status.
+     */
+    Mono<Boolean> existsByUserId(String userId);
+
+    /**
+     * Find all reservations for a specific user, ordered by day and start time.
+     */
+    Flux<Reservation> findByUserIdOrderByEpochDayAscStartMinuteAsc(String userId);
+
+    /**
+     * Find all reservations of a lab on a specific day.
+     *
+     * @param labId    Unique identifier of the lab.
+     * @param epochDay Day of the reservations, as days since 1970-01-01.
+     */
+    Flux<Reservation> findByLabIdAndEpochDay(String labId, int epochDay);
+
+    /**
+     * Find the reservations of a lab between two days (both inclusive), ordered by day and start
+     * time. The query is served by the {@code lab_day_idx} compound index.
+     */
+    @Query(value = "{ 'labId': ?0, 'epochDay': { $gte: ?1, $lte: ?2 } }", sort = "{ 'epochDay': 1, 'startMinute': 1 }")
+    Flux<Reservation> findByLabIdAndEpochDayBetween(String labId, int from, int to);
+}
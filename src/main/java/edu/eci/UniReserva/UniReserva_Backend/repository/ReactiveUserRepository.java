@@ -0,0 +1,15 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom {
+    /**
+     * Finds the public fields of a user; the password and the reservation id list are not read.
+     */
+    Mono<UserSummary> findSummaryById(String id);
+}
@@ -0,0 +1,16 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking atomic updates on the {@code reservations} id list embedded in user documents.
+ */
+public interface ReactiveUserRepositoryCustom {
+    /**
+     * Adds a reservation id to the user with a single $addToSet update, without loading the user.
+     *
+     * @param userId Unique identifier of the user.
+     * @param reservationId Unique identifier of the reservation.
+     */
+    Mono<Void> addReservation(String userId, String reservationId);
+}
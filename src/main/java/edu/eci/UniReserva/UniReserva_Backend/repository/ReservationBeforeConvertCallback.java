@@ -0,0 +1,19 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure every reservation is written with its typed day and minute fields, whichever
+ * path (repository or template) stores it.
+ */
+@Component
+public class ReservationBeforeConvertCallback implements BeforeConvertCallback<Reservation> {
+
+    @Override
+    public Reservation onBeforeConvert(Reservation reservation, String collection) {
+        reservation.resolveTypedFields();
+        return reservation;
+    }
+}
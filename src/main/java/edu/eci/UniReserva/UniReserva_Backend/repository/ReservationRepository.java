@@ -1,20 +1,22 @@
 package edu.eci.UniReserva.UniReserva_Backend.repository;
 
-import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
 
 /**
  * Repository interface for managing reservations in MongoDB.
  */
 @Repository
-public interface ReservationRepository extends MongoRepository<Reservation, String> {
+public interface ReservationRepository extends MongoRepository<Reservation, String>, ReservationRepositoryCustom {
     /**
      * Removes a reservation from the database by its ID.
      *
@@ -28,5 +30,71 @@ public interface ReservationRepository extends MongoRepository<Reservation, Stri
      */
     List<Reservation> findByUserId(String userId);
 
+    /**
+     * Checks whether a user has any reservation, whatever its status. Served by {@code user_day_idx}.
+     */
+    boolean existsByUserId(String userId);
+
+    /**
+     * Find all reservations for a specific user, ordered by day and start time.
+     */
+    List<Reservation> findByUserIdOrderByEpochDayAscStartMinuteAsc(String userId);
+
+    /**
+     * Stream the reservations of a user from a MongoDB cursor, ordered by day and start time.
+     * The stream must be closed after use.
+     */
+    Stream<Reservation> streamByUserIdOrderByEpochDayAscStartMinuteAsc(String userId);
+
     List<Reservation> findByLabId(String labId);
+
+    /**
+     * Find all reservations of a lab on a specific day.
+     *
+     * @param labId    Unique identifier of the lab.
+     * @param epochDay Day of the reservations, as days since 1970-01-01.
+     */
+    List<Reservation> findByLabIdAndEpochDay(String labId, int epochDay);
+
+    /**
+     * Find the reservations of a lab on several days.
+     *
+     * @param labId     Unique identifier of the lab.
+     * @param epochDays Days of the reservations, as days since 1970-01-01.
+     */
+    List<Reservation> findByLabIdAndEpochDayIn(String labId, Collection<Integer> epochDays);
+
+    /**
+     * Find the reservations of several labs on a specific day.
+     *
+     * @param labIds   Unique identifiers of the labs.
+     * @param epochDay Day of the reservations, as days since 1970-01-01.
+     */
+    List<Reservation> findByLabIdInAndEpochDay(Collection<String> labIds, int epochDay);
+
+    /**
+     * Find the reservations with the given status from a day onwards.
+     *
+     * @param status   Status of the reservations.
+     * @param epochDay First day to include, as days since 1970-01-01.
+     */
+    List<Reservation> findByStatusAndEpochDayGreaterThanEqual(ReservationStatus status, int epochDay);
+
+    /**
+     * Find the reservations of a lab whose day falls within the given bounds (both inclusive).
+     * The query is served by the {@code lab_day_idx} compound index.
+     *
+     * @param labId Unique identifier of the lab.
+     * @param from  First day of the range, as days since 1970-01-01.
+     * @param to    Last day of the range, as days since 1970-01-01.
+     */
+    @Query("{ 'labId': ?0, 'epochDay': { $gte: ?1, $lte: ?2 } }")
+    List<Reservation> findByLabIdAndEpochDayBetween(String labId, int from, int to);
+
+    /**
+     * Stream the reservations of a lab between two days (both inclusive) from a MongoDB cursor,
+     * ordered by day and start time. The stream must be closed after use.
+     */
+    @Query(value = "{ 'labId': ?0, 'epochDay': { $gte: ?1, $lte: ?2 } }", sort = "{ 'epochDay': 1, 'startMinute': 1 }")
+    Stream<Reservation> streamByLabIdAndEpochDayBetween(String labId, int from, int to);
 }
@@ -0,0 +1,34 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.ReservationCursor;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated reservation queries, ordered by {@code (epochDay, startMinute, _id)}.
+ *
+ * The {@code user_day_idx} and {@code lab_day_idx} indexes end with the same fields, so a page is
+ * read in index order and the scan stops at the limit. Matches are never sorted in memory.
+ */
+public interface ReservationRepositoryCustom {
+    /**
+     * Find the reservations of a user that come after the cursor.
+     *
+     * @param userId Unique identifier of the user.
+     * @param after  Last reservation of the previous page, or null for the first page.
+     * @param limit  Maximum number of reservations to return.
+     */
+    List<Reservation> findUserPage(String userId, ReservationCursor after, int limit);
+
+    /**
+     * Find the reservations of a lab between two days (both inclusive) that come after the cursor.
+     *
+     * @param labId   Unique identifier of the lab.
+     * @param fromDay First day of the range, as days since 1970-01-01.
+     * @param toDay   Last day of the range, as days since 1970-01-01.
+     * @param after   Last reservation of the previous page, or null for the first page.
+     * @param limit   Maximum number of reservations to return.
+     */
+    List<Reservation> findLabPage(String labId, int fromDay, int toDay, ReservationCursor after, int limit);
+}
@@ -0,0 +1,44 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.ReservationCursor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+public class ReservationRepositoryCustomImpl implements ReservationRepositoryCustom {
+    private static final Sort ORDER = Sort.by(Sort.Direction.ASC, "epochDay", "startMinute", "_id");
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReservationRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Reservation> findUserPage(String userId, ReservationCursor after, int limit) {
+        return findPage(Criteria.where("userId").is(userId), after, limit);
+    }
+
+    @Override
+    public List<Reservation> findLabPage(String labId, int fromDay, int toDay, ReservationCursor after, int limit) {
+        return findPage(Criteria.where("labId").is(labId).and("epochDay").gte(fromDay).lte(toDay), after, limit);
+    }
+
+    private List<Reservation> findPage(Criteria filter, ReservationCursor after, int limit) {
+        Query query = new Query(filter);
+        if (after != null) {
+            Object id = ObjectId.isValid(after.getId()) ? new ObjectId(after.getId()) : after.getId();
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("epochDay").gt(after.getEpochDay()),
+                    Criteria.where("epochDay").is(after.getEpochDay()).and("startMinute").gt(after.getStartMinute()),
+                    Criteria.where("epochDay").is(after.getEpochDay()).and("startMinute").is(after.getStartMinute())
+                            .and("_id").gt(id)));
+        }
+        return mongoTemplate.find(query.with(ORDER).limit(limit), Reservation.class);
+    }
+}
@@ -1,12 +1,18 @@
 package edu.eci.UniReserva.UniReserva_Backend.repository;
 
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
     public Optional<User> findByEmail(String email);
+
+    /**
+     * Finds the public fields of a user; the password and the reservation id list are not read.
+     */
+    Optional<UserSummary> findSummaryById(String id);
 }
@@ -0,0 +1,34 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import java.util.Collection;
+
+/**
+ * Atomic updates on single fields of user documents.
+ */
+public interface UserRepositoryCustom {
+    /**
+     * Adds a reservation id to the user with a single $addToSet update, without loading the user.
+     *
+     * @param userId Unique identifier of the user.
+     * @param reservationId Unique identifier of the reservation.
+     */
+    void addReservation(String userId, String reservationId);
+
+    /**
+     * Adds several reservation ids to the user with a single $addToSet $each update.
+     *
+     * @param userId Unique identifier of the user.
+     * @param reservationIds Unique identifiers of the reservations.
+     */
+    void addReservations(String userId, Collection<String> reservationIds);
+
+    /**
+     * Replaces the stored password of a user with a single $set update, only if it still holds the
+     * expected value, so a concurrent password change is never overwritten.
+     *
+     * @param userId Unique identifier of the user.
+     * @param expected Stored password read by the caller.
+     * @param password New value to store.
+     */
+    void updatePassword(String userId, String expected, String password);
+}
@@ -0,0 +1,35 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void addReservation(String userId, String reservationId) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                new Update().addToSet("reservations", reservationId), User.class);
+    }
+
+    @Override
+    public void addReservations(String userId, Collection<String> reservationIds) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                new Update().addToSet("reservations").each(reservationIds.toArray()), User.class);
+    }
+
+    @Override
+    public void updatePassword(String userId, String expected, String password) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId).and("password").is(expected)),
+                new Update().set("password", password), User.class);
+    }
+}
@@ -0,0 +1,136 @@
+package edu.eci.UniReserva.UniReserva_Backend.schedule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable set of confirmed time intervals of one lab on one day.
+ *
+ * Intervals are sorted by start minute and paired with the running maximum of their end
+ * minutes, so an overlap check is a single binary search. Updates return a new instance; a day
+ * rarely holds more than a few dozen reservations, so copying on write is cheap.
+ *
+ * Each instance also carries the {@link Occupancy} bitmap of its intervals, which availability
+ * queries combine across days and labs without looking at the intervals themselves.
+ */
+final class DaySchedule {
+    static final DaySchedule EMPTY = new DaySchedule(List.of());
+
+    private final List<Slot> slots;
+    private final int[] starts;
+    private final int[] maxEnds;
+    private final Occupancy occupancy;
+
+    private DaySchedule(List<Slot> slots) {
+        this(slots, occupancyOf(slots));
+    }
+
+    private DaySchedule(List<Slot> slots, Occupancy occupancy) {
+        this.slots = slots;
+        this.occupancy = occupancy;
+        this.starts = new int[slots.size()];
+        this.maxEnds = new int[slots.size()];
+        int maxEnd = Integer.MIN_VALUE;
+        for (int i = 0; i < slots.size(); i++) {
+            starts[i] = slots.get(i).start();
+            maxEnd = Math.max(maxEnd, slots.get(i).end());
+            maxEnds[i] = maxEnd;
+        }
+    }
+
+    /**
+     * Checks whether the half-open interval [start, end) intersects any interval of the day.
+     *
+     * @param start Start of the interval, in minutes since midnight.
+     * @param end   End of the interval, in minutes since midnight.
+     * @return true if at least one stored interval overlaps the given one.
+     */
+    boolean overlaps(int start, int end) {
+        int candidates = lowerBound(end);
+        return candidates > 0 && maxEnds[candidates - 1] > start;
+    }
+
+    /**
+     * Returns a schedule that also contains the given interval. Adding an id that is already
+     * present returns this same instance.
+     */
+    DaySchedule with(String id, int start, int end) {
+        if (id != null && contains(id)) {
+            return this;
+        }
+        List<Slot> updated = new ArrayList<>(slots.size() + 1);
+        updated.addAll(slots);
+        updated.add(lowerBound(start), new Slot(id, start, end));
+        return new DaySchedule(List.copyOf(updated), occupancy.or(Occupancy.of(start, end)));
+    }
+
+    /**
+     * Returns a schedule without the interval registered under the given id, or this same
+     * instance if the id is unknown. Two intervals may share a slot, so the bitmap is rebuilt
+     * from the remaining intervals.
+     */
+    DaySchedule without(String id) {
+        if (id == null || !contains(id)) {
+            return this;
+        }
+        List<Slot> updated = new ArrayList<>(slots);
+        updated.removeIf(slot -> id.equals(slot.id()));
+        return new DaySchedule(List.copyOf(updated));
+    }
+
+    /**
+     * Builds a schedule from an unordered list of slots.
+     */
+    static DaySchedule of(List<Slot> slots) {
+        List<Slot> sorted = new ArrayList<>(slots);
+        sorted.sort(Comparator.comparingInt(Slot::start));
+        return new DaySchedule(List.copyOf(sorted));
+    }
+
+    List<Slot> slots() {
+        return slots;
+    }
+
+    Occupancy occupancy() {
+        return occupancy;
+    }
+
+    private static Occupancy occupancyOf(List<Slot> slots) {
+        Occupancy occupancy = Occupancy.EMPTY;
+        for (Slot slot : slots) {
+            occupancy = occupancy.or(Occupancy.of(slot.start(), slot.end()));
+        }
+        return occupancy;
+    }
+
+    private boolean contains(String id) {
+        for (Slot slot : slots) {
+            if (Objects.equals(slot.id(), id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int lowerBound(int minute) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A confirmed reservation reduced to its id and its minutes since midnight.
+     */
+    record Slot(String id, int start, int end) {
+    }
+}
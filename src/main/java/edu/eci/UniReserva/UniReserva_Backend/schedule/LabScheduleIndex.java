@@ -0,0 +1,516 @@
+package edu.eci.UniReserva.UniReserva_Backend.schedule;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory index of the confirmed reservations of every lab, grouped by day.
+ *
+ * Upcoming reservations are loaded once when the application starts; any other day is loaded
+ * from MongoDB the first time a booking needs it. The service keeps the index current when a
+ * reservation is created or canceled, so availability checks never scan the lab history.
+ * Read-only queries use the indexed days and read any other day from MongoDB without storing
+ * it, so browsing dates never grows the index.
+ *
+ * With several nodes, the {@code CacheCoherenceListener} applies the changes made by the other
+ * nodes. A change to a day that is not indexed yet is kept in a short change log, because a load
+ * of that day may be reading MongoDB at that very moment: every load notes the position of the
+ * log before its query and replays the newer changes onto the day it stores. A load that started
+ * before the oldest change still kept, or before {@link #clear}, reads the day again.
+ *
+ * The index also owns a fixed set of striped locks keyed on lab and day. Holding the lock of a
+ * slot while checking and booking it makes the booking atomic within this node without
+ * serializing bookings of other labs or days.
+ */
+@Component
+public class LabScheduleIndex {
+    private static final int LOCK_STRIPES = 64;
+    private static final int CHANGE_LOG_SIZE = 1024;
+
+    private final ReservationRepository reservationRepository;
+    private final ConcurrentMap<String, ConcurrentMap<Integer, DaySchedule>> schedules = new ConcurrentHashMap<>();
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    private final Lock changeLock = new ReentrantLock();
+    private final Deque<Change> changeLog = new ArrayDeque<>();
+    private long changeSequence;
+    private long oldestReplayable;
+
+    public LabScheduleIndex(ReservationRepository reservationRepository) {
+        this.reservationRepository = reservationRepository;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Loads every confirmed reservation from today onwards into the index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        boolean stored;
+        do {
+            long since = changeSequence();
+            List<Reservation> upcoming = reservationRepository.findByStatusAndEpochDayGreaterThanEqual(
+                    ReservationStatus.CONFIRMED, (int) LocalDate.now().toEpochDay());
+            Map<String, Map<Integer, List<Reservation>>> byLabAndDay = upcoming.stream()
+                    .collect(Collectors.groupingBy(Reservation::getLabId,
+                            Collectors.groupingBy(Reservation::getEpochDay)));
+            stored = true;
+            for (Map.Entry<String, Map<Integer, List<Reservation>>> lab : byLabAndDay.entrySet()) {
+                stored &= store(since, lab.getKey(), lab.getValue().keySet(), lab.getValue());
+            }
+        } while (!stored);
+    }
+
+    /**
+     * Loads several days of a lab with a single query. Only the given days are stored, however
+     * far apart they are; days that are already indexed keep their current schedule.
+     *
+     * @param labId     Unique identifier of the lab.
+     * @param epochDays Days to load, as days since 1970-01-01.
+     */
+    public void preloadDays(String labId, Collection<Integer> epochDays) {
+        boolean stored;
+        do {
+            Set<Integer> missing = epochDays.stream()
+                    .filter(day -> !isLoaded(labId, day))
+                    .collect(Collectors.toCollection(TreeSet::new));
+            if (missing.isEmpty()) {
+                return;
+            }
+            long since = changeSequence();
+            Map<Integer, List<Reservation>> byDay = confirmedByDay(
+                    reservationRepository.findByLabIdAndEpochDayIn(labId, missing));
+            stored = store(since, labId, missing, byDay);
+        } while (!stored);
+    }
+
+    /**
+     * Reads a day of a lab from MongoDB without storing it, so that the read can start before the
+     * caller knows whether the day is worth keeping. Running the returned task stores the day,
+     * replaying the changes made since the read, so that a later availability check under the
+     * booking lock does not have to query the database.
+     *
+     * @param labId    Unique identifier of the lab.
+     * @param epochDay Day to read, as days since 1970-01-01.
+     * @return The task that stores the day; it does nothing if the day was already indexed.
+     */
+    public Runnable fetch(String labId, int epochDay) {
+        if (isLoaded(labId, epochDay)) {
+            return () -> { };
+        }
+        long since = changeSequence();
+        List<Reservation> reservations = confirmedByDay(reservationRepository.findByLabIdAndEpochDay(labId, epochDay))
+                .getOrDefault(epochDay, List.of());
+        return () -> {
+            if (!load(labId, epochDay, reservations, since)) {
+                daySchedule(labId, epochDay);
+            }
+        };
+    }
+
+    /**
+     * Checks whether a day of a lab is already in the index, so that callers that cannot block
+     * know whether they must load it first with {@link #load}.
+     */
+    public boolean isLoaded(String labId, int epochDay) {
+        Map<Integer, DaySchedule> days = schedules.get(labId);
+        return days != null && days.containsKey(epochDay);
+    }
+
+    /**
+     * Returns the position of the change log, to be taken by a caller that reads a day itself
+     * right before its query and handed to {@link #load}.
+     */
+    public long changeSequence() {
+        changeLock.lock();
+        try {
+            return changeSequence;
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * Stores a day of a lab read by the caller, and replays onto it the changes made since the
+     * query started. A day that is already indexed keeps its current schedule, which may be more
+     * recent than the given reservations.
+     *
+     * @param labId        Unique identifier of the lab.
+     * @param epochDay     Day of the reservations, as days since 1970-01-01.
+     * @param reservations Confirmed reservations of the lab on that day.
+     * @param since        Value of {@link #changeSequence} taken before the reservations were read.
+     * @return false if the changes made since then are no longer kept, in which case nothing is
+     * stored and the day must be read again.
+     */
+    public boolean load(String labId, int epochDay, List<Reservation> reservations, long since) {
+        return store(since, labId, List.of(epochDay), Map.of(epochDay, reservations));
+    }
+
+    /**
+     * Registers the reservation only if its slot is free, as one atomic step, without taking any
+     * lock. The day must have been loaded; the reservation must already have its id so that it can
+     * be removed again if storing it fails.
+     *
+     * @param reservation Reservation about to be stored.
+     * @return true if the slot was free and is now held by the reservation.
+     * @throws IllegalStateException if the day of the reservation is not loaded.
+     */
+    public boolean tryAdd(Reservation reservation) {
+        int start = reservation.getStartMinute();
+        int end = reservation.getEndMinute();
+        boolean[] added = new boolean[1];
+        DaySchedule schedule = daysOf(reservation.getLabId()).computeIfPresent(reservation.getEpochDay(), (day, current) -> {
+            if (current.overlaps(start, end)) {
+                return current;
+            }
+            added[0] = true;
+            return current.with(reservation.getId(), start, end);
+        });
+        if (schedule == null) {
+            throw new IllegalStateException("The schedule of the day is not loaded");
+        }
+        return added[0];
+    }
+
+    /**
+     * Checks whether the lab is free for the whole time slot of the given reservation.
+     *
+     * @param reservation Reservation whose lab, date and time slot are checked.
+     * @return true if no confirmed reservation of the same lab overlaps the slot.
+     */
+    public boolean isAvailable(Reservation reservation) {
+        return !daySchedule(reservation.getLabId(), reservation.getEpochDay())
+                .overlaps(reservation.getStartMinute(), reservation.getEndMinute());
+    }
+
+    /**
+     * Returns the occupancy bitmap of a lab on every day between two days, both inclusive. The
+     * days that are not indexed are read with a single query and are not stored.
+     *
+     * @param labId   Unique identifier of the lab.
+     * @param fromDay First day, as days since 1970-01-01.
+     * @param toDay   Last day, as days since 1970-01-01.
+     * @return One bitmap per day, starting with {@code fromDay}.
+     */
+    public List<Occupancy> occupancy(String labId, int fromDay, int toDay) {
+        Map<Integer, DaySchedule> days = indexedDays(labId);
+        List<Integer> missing = IntStream.rangeClosed(fromDay, toDay)
+                .filter(day -> !days.containsKey(day))
+                .boxed()
+                .collect(Collectors.toList());
+        Map<Integer, List<Reservation>> byDay = missing.isEmpty() ? Map.of() : confirmedByDay(reservationRepository
+                .findByLabIdAndEpochDayBetween(labId, missing.get(0), missing.get(missing.size() - 1)));
+        List<Occupancy> occupancy = new ArrayList<>(toDay - fromDay + 1);
+        for (int day = fromDay; day <= toDay; day++) {
+            DaySchedule schedule = days.get(day);
+            if (schedule == null) {
+                schedule = toSchedule(byDay.getOrDefault(day, List.of()));
+            }
+            occupancy.add(schedule.occupancy());
+        }
+        return occupancy;
+    }
+
+    /**
+     * Selects the labs that have no confirmed reservation overlapping a time slot of a day.
+     * Labs whose day is not indexed are read together with one query and are not stored.
+     *
+     * @param labIds   Unique identifiers of the labs to check.
+     * @param epochDay Day of the slot, as days since 1970-01-01.
+     * @param start    Start of the slot, in minutes since midnight.
+     * @param end      End of the slot, in minutes since midnight.
+     * @return The free labs, in the order they were given.
+     */
+    public List<String> freeLabs(Collection<String> labIds, int epochDay, int start, int end) {
+        List<String> missing = labIds.stream()
+                .filter(labId -> !isLoaded(labId, epochDay))
+                .collect(Collectors.toList());
+        Map<String, List<Reservation>> byLab = missing.isEmpty() ? Map.of()
+                : reservationRepository.findByLabIdInAndEpochDay(missing, epochDay)
+                        .stream()
+                        .filter(r -> ReservationStatus.CONFIRMED.equals(r.getStatus()))
+                        .collect(Collectors.groupingBy(Reservation::getLabId));
+        List<String> free = new ArrayList<>();
+        for (String labId : labIds) {
+            Map<Integer, DaySchedule> days = indexedDays(labId);
+            DaySchedule schedule = days.get(epochDay);
+            if (schedule == null) {
+                schedule = toSchedule(byLab.getOrDefault(labId, List.of()));
+            }
+            if (isFree(schedule, start, end)) {
+                free.add(labId);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Checks whether a lab has no confirmed reservation overlapping a time slot of a day.
+     *
+     * The lab is tested with a bitwise AND of its bitmap and the bitmap of the slot; only when the
+     * slot does not start and end on a fifteen-minute boundary and the bitmaps intersect is the
+     * exact interval check needed. Safe to call from several threads at once. A day that is not
+     * indexed is read from MongoDB and is not stored.
+     *
+     * @param labId    Unique identifier of the lab.
+     * @param epochDay Day of the slot, as days since 1970-01-01.
+     * @param start    Start of the slot, in minutes since midnight.
+     * @param end      End of the slot, in minutes since midnight.
+     */
+    public boolean isFree(String labId, int epochDay, int start, int end) {
+        return freeLabs(List.of(labId), epochDay, start, end).contains(labId);
+    }
+
+    private static boolean isFree(DaySchedule schedule, int start, int end) {
+        if (!schedule.occupancy().intersects(Occupancy.of(start, end))) {
+            return true;
+        }
+        return !Occupancy.isAligned(start, end) && !schedule.overlaps(start, end);
+    }
+
+    /**
+     * Registers a confirmed reservation in the index.
+     *
+     * @param reservation Reservation already stored in the database.
+     */
+    public void add(Reservation reservation) {
+        int epochDay = reservation.getEpochDay();
+        daySchedule(reservation.getLabId(), epochDay);
+        daysOf(reservation.getLabId()).computeIfPresent(epochDay,
+                (day, schedule) -> schedule.with(reservation.getId(), reservation.getStartMinute(), reservation.getEndMinute()));
+    }
+
+    /**
+     * Registers a confirmed reservation stored by another node. A day that is not indexed yet
+     * gets it when it is loaded, even if its query is already running.
+     *
+     * @param reservation Reservation already stored in the database.
+     */
+    public void patch(Reservation reservation) {
+        apply(new Change(reservation.getId(), reservation.getLabId(), reservation.getEpochDay(),
+                reservation.getStartMinute(), reservation.getEndMinute(), true));
+    }
+
+    /**
+     * Removes a reservation known only by its id, such as one deleted by another node, from every
+     * indexed day. This visits the whole index, so it is meant for rare events.
+     *
+     * @param reservationId Unique identifier of the reservation.
+     */
+    public void removeById(String reservationId) {
+        apply(new Change(reservationId, null, 0, 0, 0, false));
+    }
+
+    /**
+     * Forgets every indexed day, so each one is read again from MongoDB the next time it is used.
+     * Loads already running when it is called read their days again too.
+     */
+    public void clear() {
+        changeLock.lock();
+        try {
+            schedules.clear();
+            changeLog.clear();
+            oldestReplayable = ++changeSequence;
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a reservation from the index, typically after it has been canceled.
+     *
+     * @param reservation Reservation to remove.
+     */
+    public void remove(Reservation reservation) {
+        apply(new Change(reservation.getId(), reservation.getLabId(), reservation.getEpochDay(),
+                reservation.getStartMinute(), reservation.getEndMinute(), false));
+    }
+
+    /**
+     * Returns the lock that guards the bookings of a lab on a given day. Different lab/day pairs
+     * may share a stripe, which only costs some extra waiting, never correctness.
+     *
+     * @param labId    Unique identifier of the lab.
+     * @param epochDay Day of the bookings, as days since 1970-01-01.
+     * @return The lock to hold while checking availability and storing a reservation.
+     */
+    public Lock lockFor(String labId, int epochDay) {
+        return locks[stripe(labId, epochDay)];
+    }
+
+    /**
+     * Returns the distinct locks that guard the bookings of a lab on several days, in a fixed
+     * stripe order. Acquiring them in the returned order cannot deadlock with another caller.
+     *
+     * @param labId     Unique identifier of the lab.
+     * @param epochDays Days of the bookings, as days since 1970-01-01.
+     * @return The locks to hold while checking availability and storing the reservations.
+     */
+    public List<Lock> locksFor(String labId, Collection<Integer> epochDays) {
+        return epochDays.stream()
+                .map(epochDay -> stripe(labId, epochDay))
+                .distinct()
+                .sorted()
+                .map(stripe -> locks[stripe])
+                .collect(Collectors.toList());
+    }
+
+    private int stripe(String labId, int epochDay) {
+        int hash = 31 * labId.hashCode() + epochDay;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, LOCK_STRIPES);
+    }
+
+    private DaySchedule daySchedule(String labId, int epochDay) {
+        DaySchedule schedule = daysOf(labId).get(epochDay);
+        while (schedule == null) {
+            long since = changeSequence();
+            Map<Integer, List<Reservation>> byDay = confirmedByDay(
+                    reservationRepository.findByLabIdAndEpochDay(labId, epochDay));
+            store(since, labId, List.of(epochDay), byDay);
+            schedule = daysOf(labId).get(epochDay);
+        }
+        return schedule;
+    }
+
+    /**
+     * Applies a change to the index. If the day is not indexed, or the change is a removal by id,
+     * it is also kept in the change log for the loads that are reading MongoDB right now.
+     */
+    private void apply(Change change) {
+        changeLock.lock();
+        try {
+            boolean applied = false;
+            if (change.labId() == null) {
+                for (ConcurrentMap<Integer, DaySchedule> days : schedules.values()) {
+                    days.replaceAll((day, schedule) -> change.applyTo(schedule));
+                }
+            } else {
+                Map<Integer, DaySchedule> days = schedules.get(change.labId());
+                applied = days != null && days.computeIfPresent(change.epochDay(),
+                        (day, schedule) -> change.applyTo(schedule)) != null;
+            }
+            if (!applied) {
+                changeLog.addLast(change.at(++changeSequence));
+                if (changeLog.size() > CHANGE_LOG_SIZE) {
+                    oldestReplayable = changeLog.removeFirst().sequence();
+                }
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * Stores the days of a lab read by a load that started at {@code since}, replaying the newer
+     * changes of the log onto every day it actually stores.
+     *
+     * @return false if the log no longer holds every change made since then.
+     */
+    private boolean store(long since, String labId, Collection<Integer> epochDays,
+            Map<Integer, List<Reservation>> byDay) {
+        changeLock.lock();
+        try {
+            if (since < oldestReplayable) {
+                return false;
+            }
+            ConcurrentMap<Integer, DaySchedule> days = daysOf(labId);
+            for (int epochDay : epochDays) {
+                if (days.putIfAbsent(epochDay, toSchedule(byDay.getOrDefault(epochDay, List.of()))) == null) {
+                    for (Change change : changesSince(since, labId, epochDay)) {
+                        days.computeIfPresent(epochDay, (day, schedule) -> change.applyTo(schedule));
+                    }
+                }
+            }
+            return true;
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private List<Change> changesSince(long since, String labId, int epochDay) {
+        Deque<Change> newer = new ArrayDeque<>();
+        Iterator<Change> newestFirst = changeLog.descendingIterator();
+        while (newestFirst.hasNext()) {
+            Change change = newestFirst.next();
+            if (change.sequence() <= since) {
+                break;
+            }
+            if (change.concerns(labId, epochDay)) {
+                newer.addFirst(change);
+            }
+        }
+        return List.copyOf(newer);
+    }
+
+    private static Map<Integer, List<Reservation>> confirmedByDay(List<Reservation> reservations) {
+        return reservations.stream()
+                .filter(r -> ReservationStatus.CONFIRMED.equals(r.getStatus()))
+                .collect(Collectors.groupingBy(Reservation::getEpochDay));
+    }
+
+    private Map<Integer, DaySchedule> indexedDays(String labId) {
+        Map<Integer, DaySchedule> days = schedules.get(labId);
+        return days != null ? days : Map.of();
+    }
+
+    private ConcurrentMap<Integer, DaySchedule> daysOf(String labId) {
+        return schedules.computeIfAbsent(labId, id -> new ConcurrentHashMap<>());
+    }
+
+    private static DaySchedule toSchedule(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return DaySchedule.EMPTY;
+        }
+        List<DaySchedule.Slot> slots = new ArrayList<>(reservations.size());
+        for (Reservation r : reservations) {
+            slots.add(new DaySchedule.Slot(r.getId(), r.getStartMinute(), r.getEndMinute()));
+        }
+        return DaySchedule.of(slots);
+    }
+
+    /**
+     * A reservation added to or removed from a day, or removed from every day when
+     * {@code labId} is null.
+     */
+    private record Change(String reservationId, String labId, int epochDay, int start, int end, boolean added,
+            long sequence) {
+        Change(String reservationId, String labId, int epochDay, int start, int end, boolean added) {
+            this(reservationId, labId, epochDay, start, end, added, 0);
+        }
+
+        Change at(long sequence) {
+            return new Change(reservationId, labId, epochDay, start, end, added, sequence);
+        }
+
+        boolean concerns(String labId, int epochDay) {
+            return this.labId == null || (this.labId.equals(labId) && this.epochDay == epochDay);
+        }
+
+        DaySchedule applyTo(DaySchedule schedule) {
+            return added ? schedule.with(reservationId, start, end) : schedule.without(reservationId);
+        }
+    }
+}
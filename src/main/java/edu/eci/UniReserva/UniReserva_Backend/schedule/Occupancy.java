@@ -0,0 +1,61 @@
+package edu.eci.UniReserva.UniReserva_Backend.schedule;
+
+/**
+ * Occupancy of one lab on one day as a bitmap of 96 fifteen-minute slots.
+ *
+ * Slot {@code i} covers the minutes {@code [15 * i, 15 * i + 15)}. Slots 0 to 63 are the bits of
+ * {@code early} and slots 64 to 95 the low bits of {@code late}, so combining or comparing two
+ * days is a couple of bitwise operations. A slot is busy when any of its minutes is booked.
+ */
+public record Occupancy(long early, long late) {
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final Occupancy EMPTY = new Occupancy(0L, 0L);
+
+    /**
+     * Returns the slots touched by the half-open interval [start, end).
+     *
+     * @param start Start of the interval, in minutes since midnight.
+     * @param end   End of the interval, in minutes since midnight.
+     */
+    public static Occupancy of(int start, int end) {
+        if (end <= start) {
+            return EMPTY;
+        }
+        int first = Math.max(0, start / SLOT_MINUTES);
+        int last = Math.min(SLOTS_PER_DAY, (end + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        return new Occupancy(range(first, Math.min(last, 64)), range(Math.max(first, 64) - 64, last - 64));
+    }
+
+    public Occupancy or(Occupancy other) {
+        return new Occupancy(early | other.early, late | other.late);
+    }
+
+    public boolean intersects(Occupancy other) {
+        return (early & other.early) != 0 || (late & other.late) != 0;
+    }
+
+    public boolean isEmpty() {
+        return early == 0 && late == 0;
+    }
+
+    public boolean isBusy(int slot) {
+        return slot < 64 ? (early >>> slot & 1L) != 0 : (late >>> (slot - 64) & 1L) != 0;
+    }
+
+    /**
+     * Checks whether an interval starts and ends on slot boundaries, in which case its bitmap
+     * tells exactly whether it overlaps a reservation.
+     */
+    static boolean isAligned(int start, int end) {
+        return start % SLOT_MINUTES == 0 && end % SLOT_MINUTES == 0;
+    }
+
+    private static long range(int from, int to) {
+        if (to <= from) {
+            return 0L;
+        }
+        long upTo = to == 64 ? -1L : (1L << to) - 1;
+        return upTo & -(1L << from);
+    }
+}
@@ -0,0 +1,15 @@
+package edu.eci.UniReserva.UniReserva_Backend.security;
+
+import java.time.Instant;
+
+/**
+ * Claims carried by a verified access token.
+ *
+ * @param id        Random identifier of the token, used to revoke it.
+ * @param userId    Id of the user the token was issued to.
+ * @param name      Name of the user when the token was issued.
+ * @param email     Email of the user when the token was issued.
+ * @param expiresAt Instant after which the token is no longer accepted.
+ */
+public record AccessToken(String id, String userId, String name, String email, Instant expiresAt) {
+}
@@ -0,0 +1,10 @@
+package edu.eci.UniReserva.UniReserva_Backend.security;
+
+/**
+ * Access token handed to a client at login, with the claims it carries.
+ *
+ * @param value  Signed token to send back in the {@code Authorization: Bearer} header.
+ * @param claims Claims encoded in the token.
+ */
+public record IssuedToken(String value, AccessToken claims) {
+}
@@ -0,0 +1,144 @@
+package edu.eci.UniReserva.UniReserva_Backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.eci.UniReserva.UniReserva_Backend.config.ExecutorConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+/**
+ * Hashes and verifies user passwords with BCrypt.
+ *
+ * The BCrypt cost is set with {@code unireserva.password.bcrypt-cost}. Every hash and every
+ * verification runs on the bounded {@link ExecutorConfig#HASHING_EXECUTOR}; when it is saturated
+ * the call fails with a {@link java.util.concurrent.RejectedExecutionException}, which the API
+ * answers with 503.
+ *
+ * BCrypt only reads the first {@link PasswordPolicy#MAX_BYTES} bytes of a password, so a longer
+ * one never matches a hash: otherwise any password sharing those bytes would be accepted.
+ *
+ * Passwords stored before hashing was introduced are still accepted in plain text, and
+ * {@link #needsRehash} tells the caller to replace them, as it does for hashes of a lower cost.
+ *
+ * Successful verifications are remembered for a short time as an HMAC of the stored hash and the
+ * password, keyed with a random per-process secret, so repeated logins with the same credentials
+ * skip BCrypt. Changing the password changes the stored hash, so old entries never match again.
+ */
+@Component
+public class PasswordHasher {
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final String HMAC = "HmacSHA256";
+
+    private final BCryptPasswordEncoder encoder;
+    private final Executor executor;
+    private final Cache<String, Boolean> verified;
+    private final SecretKeySpec cacheKey;
+
+    public PasswordHasher(@Value("${unireserva.password.bcrypt-cost:10}") int cost,
+            @Value("${unireserva.password.verified-cache.ttl:PT5M}") Duration verifiedTtl,
+            @Value("${unireserva.password.verified-cache.max-size:10000}") long verifiedMaxSize,
+            @Qualifier(ExecutorConfig.HASHING_EXECUTOR) Executor executor) {
+        this.encoder = new BCryptPasswordEncoder(cost);
+        this.executor = executor;
+        this.verified = Caffeine.newBuilder()
+                .expireAfterWrite(verifiedTtl)
+                .maximumSize(verifiedMaxSize)
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.cacheKey = new SecretKeySpec(secret, HMAC);
+    }
+
+    /**
+     * Hashes a password on the hashing executor.
+     */
+    public CompletableFuture<String> hashAsync(String password) {
+        return CompletableFuture.supplyAsync(() -> encoder.encode(password), executor);
+    }
+
+    /**
+     * Hashes a password, waiting for the hashing executor.
+     */
+    public String hash(String password) {
+        return join(hashAsync(password));
+    }
+
+    /**
+     * Checks a password against the stored value, which may be a BCrypt hash or, for accounts
+     * created before hashing, the password itself.
+     *
+     * @param password Password given by the user.
+     * @param stored   Value stored for the user.
+     * @return true if the password is correct.
+     */
+    public boolean matches(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHash(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        if (password.getBytes(StandardCharsets.UTF_8).length > PasswordPolicy.MAX_BYTES) {
+            return false;
+        }
+        String digest = digest(password, stored);
+        if (verified.getIfPresent(digest) != null) {
+            return true;
+        }
+        boolean matches = join(CompletableFuture.supplyAsync(() -> encoder.matches(password, stored), executor));
+        if (matches) {
+            verified.put(digest, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    /**
+     * Tells whether a stored value should be replaced by a new hash after a successful login:
+     * it is a legacy plain-text password or a hash of a lower cost than the configured one.
+     */
+    public boolean needsRehash(String stored) {
+        return !isHash(stored) || encoder.upgradeEncoding(stored);
+    }
+
+    private static boolean isHash(String stored) {
+        return stored != null && BCRYPT_HASH.matcher(stored).matches();
+    }
+
+    private String digest(String password, String stored) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(cacheKey);
+            mac.update(stored.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC + " is not available", e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package edu.eci.UniReserva.UniReserva_Backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rules a new password must follow, checked on sign up and on profile updates.
+ *
+ * By default a password needs at least 8 characters, an uppercase letter, a digit and a symbol,
+ * as the former {@code ^(?=.*[A-Z])(?=.*\d)(?=.*[^A-Za-z0-9]).{8,}$} pattern required: letters and
+ * digits are the ASCII ones, a symbol is any other character, characters are counted as code
+ * points and line breaks are not allowed. Each rule can be changed with the
+ * {@code unireserva.password.*} properties.
+ *
+ * A password may not be longer than {@link #MAX_BYTES} bytes in UTF-8, whatever the properties
+ * say: BCrypt ignores everything after them, so a longer password would be matched by any other
+ * one that starts with the same bytes.
+ *
+ * The check is a single pass over the characters, without regular expressions or allocations.
+ */
+@Component
+public class PasswordPolicy {
+    public static final int MAX_BYTES = 72;
+
+    private final int minLength;
+    private final boolean requireUppercase;
+    private final boolean requireDigit;
+    private final boolean requireSymbol;
+
+    public PasswordPolicy(@Value("${unireserva.password.min-length:8}") int minLength,
+            @Value("${unireserva.password.require-uppercase:true}") boolean requireUppercase,
+            @Value("${unireserva.password.require-digit:true}") boolean requireDigit,
+            @Value("${unireserva.password.require-symbol:true}") boolean requireSymbol) {
+        this.minLength = minLength;
+        this.requireUppercase = requireUppercase;
+        this.requireDigit = requireDigit;
+        this.requireSymbol = requireSymbol;
+    }
+
+    /**
+     * Checks a password against the policy.
+     *
+     * @param password Password chosen by the user.
+     * @return true if the password follows every rule and fits in {@link #MAX_BYTES} UTF-8 bytes.
+     */
+    public boolean isValid(String password) {
+        if (password == null || password.length() < minLength) {
+            return false;
+        }
+        boolean uppercase = !requireUppercase;
+        boolean digit = !requireDigit;
+        boolean symbol = !requireSymbol;
+        int length = 0;
+        int bytes = 0;
+        for (int i = 0; i < password.length(); length++) {
+            int c = password.codePointAt(i);
+            i += Character.charCount(c);
+            bytes += c < 0x80 ? 1 : c < 0x800 ? 2 : c < 0x10000 ? 3 : 4;
+            if (bytes > MAX_BYTES) {
+                return false;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                uppercase = true;
+            } else if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (isLineTerminator(c)) {
+                return false;
+            } else if (c < 'a' || c > 'z') {
+                symbol = true;
+            }
+        }
+        return uppercase && digit && symbol && length >= minLength;
+    }
+
+    private static boolean isLineTerminator(int c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
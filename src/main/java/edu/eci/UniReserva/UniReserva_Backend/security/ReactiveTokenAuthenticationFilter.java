@@ -0,0 +1,46 @@
+package edu.eci.UniReserva.UniReserva_Backend.security;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Verifies the bearer token of requests in the {@code reactive} profile, like
+ * {@link TokenAuthenticationFilter} does for the servlet stack: the {@link AccessToken} of a valid
+ * token goes to the {@link TokenAuthenticationFilter#ACCESS_TOKEN} exchange attribute.
+ */
+public class ReactiveTokenAuthenticationFilter implements WebFilter {
+    private final TokenService tokenService;
+
+    public ReactiveTokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null) {
+            return chain.filter(exchange);
+        }
+        Optional<AccessToken> token = tokenService.verifyAuthorization(authorization);
+        if (token.isEmpty()) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            DataBuffer body = response.bufferFactory()
+                    .wrap(TokenAuthenticationFilter.INVALID_TOKEN_BODY.getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }
+        exchange.getAttributes().put(TokenAuthenticationFilter.ACCESS_TOKEN, token.get());
+        return chain.filter(exchange);
+    }
+}
@@ -0,0 +1,51 @@
+package edu.eci.UniReserva.UniReserva_Backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Verifies the bearer token of servlet requests.
+ *
+ * A request with a valid token carries its {@link AccessToken} in the {@link #ACCESS_TOKEN}
+ * attribute; one with an invalid, expired or revoked token is answered with 401. Requests without
+ * an {@code Authorization} header go through unchanged, and each endpoint decides whether it needs
+ * the token.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+    public static final String ACCESS_TOKEN = "unireserva.accessToken";
+    static final String INVALID_TOKEN_BODY = "{\"error\":\"Invalid or expired token\"}";
+
+    private final TokenService tokenService;
+
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Optional<AccessToken> token = tokenService.verifyAuthorization(authorization);
+        if (token.isEmpty()) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(INVALID_TOKEN_BODY);
+            return;
+        }
+        request.setAttribute(ACCESS_TOKEN, token.get());
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,180 @@
+package edu.eci.UniReserva.UniReserva_Backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies the stateless access tokens handed out at login.
+ *
+ * A token is the URL-safe Base64 of its claims followed by an HMAC-SHA256 signature of them, so it
+ * is verified without reading the user from Mongo. The key is the Base64 value of
+ * {@code unireserva.token.secret}, at least 32 bytes long and shared by every instance; when it
+ * is not set a random key is generated and tokens do not survive a restart. Tokens expire after
+ * {@code unireserva.token.ttl}.
+ *
+ * Revoked tokens are remembered by id in memory until they would have expired anyway, so a
+ * logout only applies to the instance that received it.
+ */
+@Component
+public class TokenService {
+    public static final String BEARER_PREFIX = "Bearer ";
+    public static final String TOKEN_TYPE = "Bearer";
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final String HMAC = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final byte VERSION = 1;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Cache<String, Boolean> revoked;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public TokenService(@Value("${unireserva.token.secret:}") String secret,
+            @Value("${unireserva.token.ttl:PT1H}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(secretBytes(secret), HMAC);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.revoked = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Issues a token for a user that has just logged in.
+     */
+    public IssuedToken issue(User user) {
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        Instant expiresAt = clock.instant().plus(ttl).truncatedTo(ChronoUnit.SECONDS);
+        AccessToken claims = new AccessToken(ENCODER.encodeToString(id), user.getId(), user.getName(), user.getEmail(), expiresAt);
+
+        String payload = ENCODER.encodeToString(encode(claims));
+        return new IssuedToken(payload + "." + ENCODER.encodeToString(sign(payload)), claims);
+    }
+
+    /**
+     * Verifies a token.
+     *
+     * @param token Token sent by the client.
+     * @return The claims of the token, or empty if it is malformed, forged, expired or revoked.
+     */
+    public Optional<AccessToken> verify(String token) {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+        try {
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(dot + 1)))) {
+                return Optional.empty();
+            }
+            AccessToken claims = decode(DECODER.decode(payload));
+            if (!clock.instant().isBefore(claims.expiresAt()) || revoked.getIfPresent(claims.id()) != null) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Verifies the token of an {@code Authorization} header.
+     *
+     * @return The claims of the token, or empty if the header is not a valid bearer token.
+     */
+    public Optional<AccessToken> verifyAuthorization(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return Optional.empty();
+        }
+        return verify(authorization.substring(BEARER_PREFIX.length()).trim());
+    }
+
+    /**
+     * Rejects a token from now on, until it expires.
+     */
+    public void revoke(AccessToken token) {
+        revoked.put(token.id(), Boolean.TRUE);
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC + " is not available", e);
+        }
+    }
+
+    private static byte[] encode(AccessToken claims) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(claims.id());
+            out.writeUTF(claims.userId());
+            out.writeUTF(claims.name() == null ? "" : claims.name());
+            out.writeUTF(claims.email() == null ? "" : claims.email());
+            out.writeLong(claims.expiresAt().getEpochSecond());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static AccessToken decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        if (in.readByte() != VERSION) {
+            throw new IOException("Unknown token version");
+        }
+        return new AccessToken(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), Instant.ofEpochSecond(in.readLong()));
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("unireserva.token.secret is not set, access tokens are signed with a random key and will not survive a restart");
+            byte[] generated = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(generated);
+            return generated;
+        }
+        byte[] decoded = Base64.getDecoder().decode(secret.trim());
+        if (decoded.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("unireserva.token.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        return decoded;
+    }
+}
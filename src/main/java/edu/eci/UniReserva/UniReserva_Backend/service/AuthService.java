@@ -1,9 +1,15 @@
 package edu.eci.UniReserva.UniReserva_Backend.service;
 
+import edu.eci.UniReserva.UniReserva_Backend.model.LoginResponse;
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.security.AccessToken;
 
 public interface AuthService {
     User authenticateLogin(String username, String password);
 
+    LoginResponse login(String email, String password);
+
+    void logout(AccessToken token);
+
     User authenticateSignUp(User user);
 }
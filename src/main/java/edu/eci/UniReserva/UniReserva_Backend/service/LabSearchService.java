@@ -0,0 +1,11 @@
+package edu.eci.UniReserva.UniReserva_Backend.service;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+
+import java.util.List;
+import java.util.Map;
+
+public interface LabSearchService {
+    List<Lab> searchFreeLabs(String date, String startTime, String endTime, int minCapacity,
+            Map<String, Integer> equipment, int limit);
+}
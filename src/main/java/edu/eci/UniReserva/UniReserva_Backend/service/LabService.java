@@ -1,11 +1,16 @@
 package edu.eci.UniReserva.UniReserva_Backend.service;
 
+import edu.eci.UniReserva.UniReserva_Backend.model.DayAvailability;
 import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
-import edu.eci.UniReserva.UniReserva_Backend.repository.LabRepository;
-import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 public interface LabService {
     List<Lab> getLabs();
+
+    void evictLabCatalog();
+
+    List<DayAvailability> getAvailability(String labId, String from, String to, int granularity);
+
+    List<Lab> getFreeLabs(List<Lab> labs, String date, String startTime, String endTime);
 }
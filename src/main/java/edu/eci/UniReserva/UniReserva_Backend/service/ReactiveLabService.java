@@ -0,0 +1,8 @@
+package edu.eci.UniReserva.UniReserva_Backend.service;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveLabService {
+    Flux<Lab> getLabs();
+}
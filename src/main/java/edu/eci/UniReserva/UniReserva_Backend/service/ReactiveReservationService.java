@@ -0,0 +1,12 @@
+package edu.eci.UniReserva.UniReserva_Backend.service;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveReservationService {
+    Mono<Reservation> createReservation(Reservation reservation);
+    Flux<Reservation> getReservationsByUserId(String userId);
+    Mono<Reservation> cancelReservationByReservationId(String reservationId);
+    Flux<Reservation> getReservationsByRangeDate(String lab, String date1, String date2);
+}
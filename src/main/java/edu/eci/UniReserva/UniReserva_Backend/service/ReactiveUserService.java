@@ -0,0 +1,13 @@
+package edu.eci.UniReserva.UniReserva_Backend.service;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+    Mono<User> updateUser(String id, User user);
+
+    Mono<String> deleteUser(String id);
+
+    Mono<UserSummary> getUser(String id);
+}
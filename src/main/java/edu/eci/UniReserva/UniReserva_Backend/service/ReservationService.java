@@ -1,12 +1,21 @@
 package edu.eci.UniReserva.UniReserva_Backend.service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import edu.eci.UniReserva.UniReserva_Backend.model.BatchReservationRequest;
+import edu.eci.UniReserva.UniReserva_Backend.model.BatchReservationResult;
 import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.ReservationPage;
 
 public interface ReservationService {
     Reservation createReservation(Reservation reservation);
+    List<BatchReservationResult> createReservations(BatchReservationRequest request);
     List<Reservation> getReservationsByUserId(String userId);
     Reservation cancelReservationByReservationId(String reservationId);
     List<Reservation> getReservationsByRangeDate(String lab, String date1, String date2);
+    ReservationPage getReservationsByUserId(String userId, String cursor, int size);
+    ReservationPage getReservationsByRangeDate(String lab, String date1, String date2, String cursor, int size);
+    Stream<Reservation> streamReservationsByUserId(String userId);
+    Stream<Reservation> streamReservationsByRangeDate(String lab, String date1, String date2);
 }
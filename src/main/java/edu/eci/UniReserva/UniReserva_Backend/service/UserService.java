@@ -1,11 +1,12 @@
 package edu.eci.UniReserva.UniReserva_Backend.service;
 
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
 
 public interface UserService {
     User updateUser(String id, User user);
 
     String deleteUser(String id);
 
-    User getUser(String id);
+    UserSummary getUser(String id);
 }
@@ -1,48 +1,101 @@
 package edu.eci.UniReserva.UniReserva_Backend.service.impl;
 
+import edu.eci.UniReserva.UniReserva_Backend.config.MetricsConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.LoginResponse;
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
 import edu.eci.UniReserva.UniReserva_Backend.repository.UserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.security.AccessToken;
+import edu.eci.UniReserva.UniReserva_Backend.security.IssuedToken;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordHasher;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordPolicy;
+import edu.eci.UniReserva.UniReserva_Backend.security.TokenService;
 import edu.eci.UniReserva.UniReserva_Backend.service.AuthService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final PasswordPolicy passwordPolicy;
+    private final TokenService tokenService;
 
     @Autowired
-    public AuthServiceImpl(UserRepository userRepository) {
+    public AuthServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher,
+            PasswordPolicy passwordPolicy, TokenService tokenService) {
         this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.passwordPolicy = passwordPolicy;
+        this.tokenService = tokenService;
     }
 
+    /**
+     * Checks the credentials of a user. A password still stored in plain text, or hashed with a
+     * lower cost than the configured one, is replaced by a new hash once it has been verified.
+     *
+     * @throws IllegalArgumentException if the email is unknown or the password is wrong.
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing executor is saturated.
+     */
     @Override
     public User authenticateLogin(String email, String password){
         User user = userRepository.findByEmail(email).orElse(null);
-        if (user == null || !user.getPassword().equals(password)) {
+        if (user == null || !passwordHasher.matches(password, user.getPassword())) {
             throw new IllegalArgumentException("Invalid email or password");
         }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            String hash = passwordHasher.hash(password);
+            userRepository.updatePassword(user.getId(), user.getPassword(), hash);
+            user.setPassword(hash);
+        }
         return user;
     }
 
+    /**
+     * Checks the credentials of a user and issues an access token for later requests.
+     *
+     * @throws IllegalArgumentException if the email is unknown or the password is wrong.
+     */
     @Override
-    public User authenticateSignUp(User user) {
-        if (emailExists(user.getEmail())) {
-            throw new IllegalArgumentException("Email already exists");
-        }
-
-        if (!validPassword(user.getPassword())) {
-            throw new IllegalArgumentException("Invalid password");
-        }
-
-        return userRepository.save(user);
+    public LoginResponse login(String email, String password) {
+        User user = authenticateLogin(email, password);
+        IssuedToken token = tokenService.issue(user);
+        return new LoginResponse(token.value(), TokenService.TOKEN_TYPE, token.claims().expiresAt(),
+                UserSummary.of(user));
     }
 
-    private boolean emailExists(String email) {
-        return userRepository.findByEmail(email).isPresent();
+    /**
+     * Revokes an access token, which is rejected from then on.
+     */
+    @Override
+    public void logout(AccessToken token) {
+        tokenService.revoke(token);
     }
 
-    private boolean validPassword(String password) {
-        return password.matches("^(?=.*[A-Z])(?=.*\\d)(?=.*[^A-Za-z0-9]).{8,}$");
+    /**
+     * Creates a user with a single insert. The unique index on the email rejects a taken email
+     * atomically, even when two sign-ups for the same email arrive at the same time.
+     *
+     * @throws IllegalArgumentException if the password is invalid or the email already exists.
+     */
+    @Override
+    public User authenticateSignUp(User user) {
+        if (!passwordPolicy.isValid(user.getPassword())) {
+            throw new IllegalArgumentException("Invalid password");
+        }
+
+        user.setPassword(passwordHasher.hash(user.getPassword()));
+        try {
+            return userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            if (e.getMessage() != null && e.getMessage().contains(User.EMAIL_INDEX)) {
+                throw new IllegalArgumentException("Email already exists");
+            }
+            throw new IllegalArgumentException("User already exists");
+        }
     }
 
 }
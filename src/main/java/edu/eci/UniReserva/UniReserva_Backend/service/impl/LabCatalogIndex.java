@@ -0,0 +1,134 @@
+package edu.eci.UniReserva.UniReserva_Backend.service.impl;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable index of a lab catalog by capacity and by the quantity of each piece of equipment.
+ *
+ * Each attribute keeps the labs sorted by its value, so the labs with at least a given value are
+ * a suffix found with one binary search. A search walks the shortest suffix among its criteria
+ * and checks the remaining criteria on those labs only.
+ */
+final class LabCatalogIndex {
+    private final List<Lab> catalog;
+    private final Sorted byCapacity;
+    private final Map<String, Sorted> byEquipment;
+
+    LabCatalogIndex(List<Lab> catalog) {
+        this.catalog = catalog;
+        List<Lab> withId = catalog.stream().filter(lab -> lab.getId() != null).toList();
+        this.byCapacity = Sorted.of(withId, Lab::getCapacity);
+
+        Map<String, List<Lab>> labsByItem = new HashMap<>();
+        for (Lab lab : withId) {
+            if (lab.getEquipment() != null) {
+                lab.getEquipment().keySet().forEach(item -> labsByItem.computeIfAbsent(item, k -> new ArrayList<>()).add(lab));
+            }
+        }
+        Map<String, Sorted> equipment = new HashMap<>();
+        labsByItem.forEach((item, labs) -> equipment.put(item, Sorted.of(labs, lab -> quantity(lab, item))));
+        this.byEquipment = Map.copyOf(equipment);
+    }
+
+    /**
+     * Tells whether this index was built from the given catalog instance.
+     */
+    boolean isBuiltFrom(List<Lab> labs) {
+        return catalog == labs;
+    }
+
+    /**
+     * Returns the labs with at least the given capacity and at least the given quantity of every
+     * requested piece of equipment, in no particular order.
+     *
+     * @param minCapacity Minimum number of seats.
+     * @param equipment   Minimum quantity of each piece of equipment, keyed by its name.
+     */
+    List<Lab> matching(int minCapacity, Map<String, Integer> equipment) {
+        Sorted shortest = byCapacity;
+        int from = byCapacity.firstAtLeast(minCapacity);
+        for (Map.Entry<String, Integer> wanted : equipment.entrySet()) {
+            Sorted sorted = byEquipment.get(wanted.getKey());
+            if (sorted == null) {
+                return List.of();
+            }
+            int start = sorted.firstAtLeast(wanted.getValue());
+            if (sorted.size() - start < shortest.size() - from) {
+                shortest = sorted;
+                from = start;
+            }
+        }
+
+        List<Lab> matches = new ArrayList<>(shortest.size() - from);
+        for (int i = from; i < shortest.size(); i++) {
+            Lab lab = shortest.labs[i];
+            if (lab.getCapacity() >= minCapacity && hasEquipment(lab, equipment)) {
+                matches.add(lab);
+            }
+        }
+        return matches;
+    }
+
+    static int quantity(Lab lab, String item) {
+        Integer quantity = lab.getEquipment() == null ? null : lab.getEquipment().get(item);
+        return quantity == null ? 0 : quantity;
+    }
+
+    private static boolean hasEquipment(Lab lab, Map<String, Integer> equipment) {
+        for (Map.Entry<String, Integer> wanted : equipment.entrySet()) {
+            if (quantity(lab, wanted.getKey()) < wanted.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Labs sorted by one attribute, with the attribute values alongside for the binary search.
+     */
+    private static final class Sorted {
+        private final Lab[] labs;
+        private final int[] values;
+
+        private Sorted(Lab[] labs, int[] values) {
+            this.labs = labs;
+            this.values = values;
+        }
+
+        static Sorted of(List<Lab> labs, ToIntFunction<Lab> attribute) {
+            Lab[] sorted = labs.toArray(new Lab[0]);
+            Arrays.sort(sorted, Comparator.comparingInt(attribute));
+            int[] values = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                values[i] = attribute.applyAsInt(sorted[i]);
+            }
+            return new Sorted(sorted, values);
+        }
+
+        int size() {
+            return labs.length;
+        }
+
+        int firstAtLeast(int value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
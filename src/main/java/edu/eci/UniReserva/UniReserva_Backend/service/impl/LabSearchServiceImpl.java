@@ -0,0 +1,96 @@
+package edu.eci.UniReserva.UniReserva_Backend.service.impl;
+
+import edu.eci.UniReserva.UniReserva_Backend.config.MetricsConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.LabSearchService;
+import edu.eci.UniReserva.UniReserva_Backend.service.LabService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the labs that meet a capacity and equipment requirement and are free for a time slot.
+ *
+ * Candidates come from a {@link LabCatalogIndex} over the cached lab catalog, rebuilt only when
+ * the cache hands out a new catalog. The schedules of the candidates that are not indexed for the
+ * day are read with a single query, without being stored, and each availability check is a
+ * bitwise test on the occupancy bitmap of the lab.
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class LabSearchServiceImpl implements LabSearchService {
+    static final int MAX_RESULTS = 100;
+
+    private final LabService labService;
+    private final LabScheduleIndex labScheduleIndex;
+    private volatile LabCatalogIndex catalogIndex = new LabCatalogIndex(List.of());
+
+    public LabSearchServiceImpl(LabService labService, LabScheduleIndex labScheduleIndex) {
+        this.labService = labService;
+        this.labScheduleIndex = labScheduleIndex;
+    }
+
+    /**
+     * Searches the labs that are free for a whole time slot and have enough seats and equipment.
+     *
+     * Matches are ranked by closest fit, so that small groups do not take the large labs: fewest
+     * spare seats first, then fewest spare units of the requested equipment, then by name.
+     *
+     * @param date        Date of the slot, as {@code yyyy-MM-dd}.
+     * @param startTime   Start of the slot, as {@code HH:mm}.
+     * @param endTime     End of the slot, as {@code HH:mm}.
+     * @param minCapacity Minimum number of seats.
+     * @param equipment   Minimum quantity of each piece of equipment, keyed by its name.
+     * @param limit       Maximum number of labs to return, between 1 and 100.
+     * @return The matching free labs, best fit first.
+     * @throws IllegalArgumentException if the slot, the limit or a quantity is invalid.
+     */
+    @Override
+    public List<Lab> searchFreeLabs(String date, String startTime, String endTime, int minCapacity,
+            Map<String, Integer> equipment, int limit) {
+        TimeSlot slot = TimeSlot.parse(date, startTime, endTime);
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + MAX_RESULTS);
+        }
+        if (equipment.values().stream().anyMatch(quantity -> quantity == null || quantity < 0)) {
+            throw new IllegalArgumentException("Equipment quantities must be zero or positive");
+        }
+
+        List<Lab> candidates = catalogIndex().matching(minCapacity, equipment);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Set<String> free = new HashSet<>(labScheduleIndex.freeLabs(
+                candidates.stream().map(Lab::getId).collect(Collectors.toList()), slot.epochDay(), slot.start(), slot.end()));
+        return candidates.stream()
+                .filter(lab -> free.contains(lab.getId()))
+                .sorted(bestFit(equipment))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private LabCatalogIndex catalogIndex() {
+        List<Lab> labs = labService.getLabs();
+        LabCatalogIndex index = catalogIndex;
+        if (!index.isBuiltFrom(labs)) {
+            index = new LabCatalogIndex(labs);
+            catalogIndex = index;
+        }
+        return index;
+    }
+
+    private static Comparator<Lab> bestFit(Map<String, Integer> equipment) {
+        return Comparator.comparingInt(Lab::getCapacity)
+                .thenComparingInt(lab -> equipment.keySet().stream()
+                        .mapToInt(item -> LabCatalogIndex.quantity(lab, item))
+                        .sum())
+                .thenComparing(Lab::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+}
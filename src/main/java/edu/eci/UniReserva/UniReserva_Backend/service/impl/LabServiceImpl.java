@@ -1,24 +1,118 @@
 package edu.eci.UniReserva.UniReserva_Backend.service.impl;
 
+import edu.eci.UniReserva.UniReserva_Backend.config.CacheConfig;
+import edu.eci.UniReserva.UniReserva_Backend.config.MetricsConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.DayAvailability;
 import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.model.SlotAvailability;
 import edu.eci.UniReserva.UniReserva_Backend.repository.LabRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.Occupancy;
 import edu.eci.UniReserva.UniReserva_Backend.service.LabService;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class LabServiceImpl implements LabService {
+    static final int MAX_AVAILABILITY_DAYS = 31;
+
     private final LabRepository labRepository;
+    private final LabScheduleIndex labScheduleIndex;
 
-    public LabServiceImpl(LabRepository labRepository) {
+    public LabServiceImpl(LabRepository labRepository, LabScheduleIndex labScheduleIndex) {
         this.labRepository = labRepository;
+        this.labScheduleIndex = labScheduleIndex;
     }
 
+    /**
+     * Returns the lab catalog, read from MongoDB at most once per cache TTL.
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.LAB_CATALOG, key = "'all'")
     public List<Lab> getLabs() {
-        return labRepository.findAll();
+        return labRepository.findAllWithoutReservations();
+    }
+
+    /**
+     * Drops the cached lab catalog. Must be called after any write to the labs collection.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.LAB_CATALOG, allEntries = true)
+    public void evictLabCatalog() {
+    }
+
+    /**
+     * Returns the free and busy slots of a lab between two dates, both inclusive, read from the
+     * occupancy bitmaps of the schedule index.
+     *
+     * @param labId       Unique identifier of the lab.
+     * @param from        First date, as {@code yyyy-MM-dd}.
+     * @param to          Last date, as {@code yyyy-MM-dd}.
+     * @param granularity Length of the returned slots in minutes; a multiple of 15 that divides a day.
+     *                    A slot is free only if none of its minutes is booked.
+     * @return One entry per day, each with the slots of the day in order.
+     * @throws IllegalArgumentException if the lab does not exist or the dates or granularity are invalid.
+     */
+    @Override
+    public List<DayAvailability> getAvailability(String labId, String from, String to, int granularity) {
+        if (granularity <= 0 || granularity % Occupancy.SLOT_MINUTES != 0 || (24 * 60) % granularity != 0) {
+            throw new IllegalArgumentException("The granularity must be a multiple of 15 minutes that divides a day");
+        }
+        LocalDate fromDate = TimeSlot.parseDate(from);
+        LocalDate toDate = TimeSlot.parseDate(to);
+        if (toDate.isBefore(fromDate) || toDate.toEpochDay() - fromDate.toEpochDay() >= MAX_AVAILABILITY_DAYS) {
+            throw new IllegalArgumentException("The range must cover between 1 and " + MAX_AVAILABILITY_DAYS + " days");
+        }
+        if (!labRepository.existsById(labId)) {
+            throw new IllegalArgumentException("The lab does not exist");
+        }
+
+        List<Occupancy> days = labScheduleIndex.occupancy(labId, (int) fromDate.toEpochDay(), (int) toDate.toEpochDay());
+        int slotsPerEntry = granularity / Occupancy.SLOT_MINUTES;
+        List<DayAvailability> availability = new ArrayList<>(days.size());
+        for (int i = 0; i < days.size(); i++) {
+            Occupancy occupancy = days.get(i);
+            List<SlotAvailability> slots = new ArrayList<>(Occupancy.SLOTS_PER_DAY / slotsPerEntry);
+            for (int first = 0; first < Occupancy.SLOTS_PER_DAY; first += slotsPerEntry) {
+                int start = first * Occupancy.SLOT_MINUTES;
+                int end = start + granularity;
+                slots.add(new SlotAvailability(formatMinute(start), formatMinute(end),
+                        !occupancy.intersects(Occupancy.of(start, end))));
+            }
+            availability.add(new DayAvailability(fromDate.plusDays(i).toString(), slots));
+        }
+        return availability;
+    }
+
+    /**
+     * Filters a list of labs down to those with no confirmed reservation overlapping a time slot.
+     *
+     * @param labs      Labs to check, usually the catalog returned by {@link #getLabs()}.
+     * @param date      Date of the slot, as {@code yyyy-MM-dd}.
+     * @param startTime Start of the slot, as {@code HH:mm}.
+     * @param endTime   End of the slot, as {@code HH:mm}.
+     * @return The free labs, in the order they were given.
+     * @throws IllegalArgumentException if the date or times are invalid or the slot is empty.
+     */
+    @Override
+    public List<Lab> getFreeLabs(List<Lab> labs, String date, String startTime, String endTime) {
+        TimeSlot slot = TimeSlot.parse(date, startTime, endTime);
+        List<String> labIds = labs.stream().map(Lab::getId).collect(Collectors.toList());
+        Set<String> free = new HashSet<>(labScheduleIndex.freeLabs(labIds, slot.epochDay(), slot.start(), slot.end()));
+        return labs.stream().filter(lab -> free.contains(lab.getId())).collect(Collectors.toList());
     }
 
+    private static String formatMinute(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
 }
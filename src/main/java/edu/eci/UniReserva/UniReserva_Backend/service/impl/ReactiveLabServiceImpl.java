@@ -0,0 +1,26 @@
+package edu.eci.UniReserva.UniReserva_Backend.service.impl;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReactiveLabRepository;
+import edu.eci.UniReserva.UniReserva_Backend.service.ReactiveLabService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+@Profile("reactive")
+public class ReactiveLabServiceImpl implements ReactiveLabService {
+    private final ReactiveLabRepository labRepository;
+
+    public ReactiveLabServiceImpl(ReactiveLabRepository labRepository) {
+        this.labRepository = labRepository;
+    }
+
+    /**
+     * Returns the lab catalog, without the reservation ids embedded in each lab.
+     */
+    @Override
+    public Flux<Lab> getLabs() {
+        return labRepository.findAllWithoutReservations();
+    }
+}
@@ -0,0 +1,142 @@
+package edu.eci.UniReserva.UniReserva_Backend.service.impl;
+
+import edu.eci.UniReserva.UniReserva_Backend.config.MetricsConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReactiveLabRepository;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReactiveReservationRepository;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReactiveUserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.ReactiveReservationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+/**
+ * Non-blocking reservation service of the {@code reactive} profile.
+ *
+ * Bookings follow the same rules as {@link ReservationServiceImpl}, but a request never waits on a
+ * lock: the slot is claimed in the {@link LabScheduleIndex} with an atomic check-and-add before
+ * the reservation is inserted, and released again if the insert fails. As there, the links of
+ * the lab and the user are left to the {@link ReservationLinkApplier}.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveReservationServiceImpl implements ReactiveReservationService {
+    private final ReactiveReservationRepository reservationRepository;
+    private final ReactiveLabRepository labRepository;
+    private final ReactiveUserRepository userRepository;
+    private final LabScheduleIndex labScheduleIndex;
+    private final Counter conflicts;
+
+    public ReactiveReservationServiceImpl(ReactiveReservationRepository reservationRepository,
+            ReactiveLabRepository labRepository, ReactiveUserRepository userRepository,
+            LabScheduleIndex labScheduleIndex, MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.labRepository = labRepository;
+        this.userRepository = userRepository;
+        this.labScheduleIndex = labScheduleIndex;
+        this.conflicts = Counter.builder(MetricsConfig.RESERVATION_CONFLICTS)
+                .description("Reservations rejected because the lab was already booked")
+                .tag("operation", "single")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates a new reservation if the lab is available.
+     *
+     * @param reservation Object containing the reservation details.
+     * @return The created reservation, or an {@link IllegalArgumentException} error if the lab or
+     *         the user does not exist, the slot is in the past or the lab is already booked.
+     */
+    @Override
+    public Mono<Reservation> createReservation(Reservation reservation) {
+        return labRepository.existsById(reservation.getLabId())
+                .flatMap(labExists -> labExists
+                        ? userRepository.existsById(reservation.getUserId())
+                        : Mono.error(new IllegalArgumentException("The lab does not exist")))
+                .flatMap(userExists -> {
+                    if (!userExists) {
+                        return Mono.error(new IllegalArgumentException("The user does not exist"));
+                    }
+                    ReservationRules.validateSchedule(reservation);
+                    return loadDay(reservation.getLabId(), reservation.getEpochDay()).then(book(reservation));
+                });
+    }
+
+    /**
+     * Retrieves the reservations of a user, sorted by date and start time, as they are read from
+     * the database.
+     */
+    @Override
+    public Flux<Reservation> getReservationsByUserId(String userId) {
+        return reservationRepository.findByUserIdOrderByEpochDayAscStartMinuteAsc(userId);
+    }
+
+    /**
+     * Cancels a reservation given its ID.
+     *
+     * @param reservationId ID of the reservation to cancel.
+     * @return The canceled reservation, or an {@link IllegalArgumentException} error if it does not
+     *         exist or is already canceled.
+     */
+    @Override
+    public Mono<Reservation> cancelReservationByReservationId(String reservationId) {
+        return reservationRepository.findById(reservationId)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException(
+                        "Reservation with id " + reservationId + " not found.")))
+                .flatMap(reservation -> {
+                    if (reservation.getStatus().equals(ReservationStatus.CANCELED)) {
+                        return Mono.error(new IllegalArgumentException("This reservation is already cancelled"));
+                    }
+                    reservation.setStatus(ReservationStatus.CANCELED);
+                    return reservationRepository.save(reservation);
+                })
+                .doOnNext(labScheduleIndex::remove);
+    }
+
+    /**
+     * Retrieves the reservations of a lab between two dates, both inclusive, sorted by date and
+     * start time, as they are read from the database.
+     *
+     * @return The reservations, or an {@link IllegalArgumentException} error if a date is invalid.
+     */
+    @Override
+    public Flux<Reservation> getReservationsByRangeDate(String lab, String date1, String date2) {
+        return Flux.defer(() -> reservationRepository.findByLabIdAndEpochDayBetween(lab,
+                (int) TimeSlot.parseDate(date1).toEpochDay(), (int) TimeSlot.parseDate(date2).toEpochDay()));
+    }
+
+    private Mono<Void> loadDay(String labId, int epochDay) {
+        if (labScheduleIndex.isLoaded(labId, epochDay)) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long since = labScheduleIndex.changeSequence();
+            return reservationRepository.findByLabIdAndEpochDay(labId, epochDay)
+                    .filter(r -> ReservationStatus.CONFIRMED.equals(r.getStatus()))
+                    .collectList()
+                    .flatMap(reservations -> labScheduleIndex.load(labId, epochDay, reservations, since)
+                            ? Mono.<Void>empty()
+                            : loadDay(labId, epochDay));
+        });
+    }
+
+    private Mono<Reservation> book(Reservation reservation) {
+        return Mono.defer(() -> {
+            reservation.setId(new ObjectId().toHexString());
+            if (!labScheduleIndex.tryAdd(reservation)) {
+                conflicts.increment();
+                return Mono.error(new IllegalArgumentException(ReservationRules.CONFLICT_MESSAGE));
+            }
+            reservation.setLinksPending(true);
+            return reservationRepository.insert(reservation)
+                    .doOnError(e -> labScheduleIndex.remove(reservation));
+        });
+    }
+}
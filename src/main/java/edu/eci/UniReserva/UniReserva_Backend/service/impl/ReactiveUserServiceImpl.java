@@ -0,0 +1,80 @@
+package edu.eci.UniReserva.UniReserva_Backend.service.impl;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReactiveReservationRepository;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReactiveUserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordHasher;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordPolicy;
+import edu.eci.UniReserva.UniReserva_Backend.service.ReactiveUserService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveReservationRepository reservationRepository;
+    private final PasswordHasher passwordHasher;
+    private final PasswordPolicy passwordPolicy;
+
+    public ReactiveUserServiceImpl(ReactiveUserRepository userRepository,
+            ReactiveReservationRepository reservationRepository, PasswordHasher passwordHasher,
+            PasswordPolicy passwordPolicy) {
+        this.userRepository = userRepository;
+        this.reservationRepository = reservationRepository;
+        this.passwordHasher = passwordHasher;
+        this.passwordPolicy = passwordPolicy;
+    }
+
+    @Override
+    public Mono<User> updateUser(String id, User user) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("User not found")))
+                .flatMap(existingUser -> {
+                    if (user.getEmail() != null) {
+                        return Mono.error(new IllegalArgumentException("The email cannot be updated"));
+                    }
+                    if (user.getName() != null) {
+                        existingUser.setName(user.getName());
+                    }
+                    if (user.getPassword() == null) {
+                        return userRepository.save(existingUser);
+                    }
+                    if (!passwordPolicy.isValid(user.getPassword())) {
+                        return Mono.error(new IllegalArgumentException("Invalid password"));
+                    }
+                    return Mono.fromFuture(() -> passwordHasher.hashAsync(user.getPassword()))
+                            .flatMap(hash -> {
+                                existingUser.setPassword(hash);
+                                return userRepository.save(existingUser);
+                            });
+                });
+    }
+
+    /**
+     * Deletes a user that has no reservations, checking the reservations collection like
+     * {@link UserServiceImpl#deleteUser} does.
+     */
+    @Override
+    public Mono<String> deleteUser(String id) {
+        return userRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? reservationRepository.existsByUserId(id)
+                        : Mono.error(new IllegalArgumentException("User not found")))
+                .flatMap(hasReservations -> {
+                    if (hasReservations) {
+                        return Mono.error(new IllegalArgumentException("User has Repository, can't be deleted"));
+                    }
+                    return userRepository.deleteById(id)
+                            .thenReturn("User with ID " + id + " deleted successfully");
+                });
+    }
+
+    @Override
+    public Mono<UserSummary> getUser(String id) {
+        return userRepository.findSummaryById(id)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("User not found")));
+    }
+}
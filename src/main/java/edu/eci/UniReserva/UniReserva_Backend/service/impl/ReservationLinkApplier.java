@@ -0,0 +1,110 @@
+package edu.eci.UniReserva.UniReserva_Backend.service.impl;
+
+import edu.eci.UniReserva.UniReserva_Backend.config.MetricsConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds new reservations to the {@code reservations} lists of their labs and users.
+ *
+ * A booking only marks the reservation with {@code linksPending}, in the same write that stores
+ * it, so the lists can lag behind but never lose an id. Every {@code unireserva.outbox.interval}
+ * this job reads the pending reservations in batches, groups them by lab and by user and sends one
+ * bulk of {@code $addToSet $each} updates per collection, so many bookings of the same lab or user
+ * cost a single update. The mark is removed only after both bulks succeed. As {@code $addToSet}
+ * ignores ids that are already there, a batch interrupted by a failure or a restart is simply
+ * applied again by the next run.
+ */
+@Component
+public class ReservationLinkApplier {
+    private static final Logger log = LoggerFactory.getLogger(ReservationLinkApplier.class);
+    static final String LINKS_PENDING = "linksPending";
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final Counter applied;
+
+    public ReservationLinkApplier(MongoTemplate mongoTemplate,
+            @Value("${unireserva.outbox.batch-size:500}") int batchSize, MeterRegistry meterRegistry) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The outbox batch size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.applied = Counter.builder(MetricsConfig.OUTBOX_APPLIED)
+                .description("Reservations whose lab and user links were applied from the outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies every pending reservation, one batch after another.
+     */
+    @Scheduled(fixedDelayString = "${unireserva.outbox.interval:PT1S}")
+    public void applyPendingLinks() {
+        try {
+            int count;
+            do {
+                count = applyBatch();
+            } while (count == batchSize);
+        } catch (DataAccessException e) {
+            log.warn("Could not apply the pending reservation links, retrying in the next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the links of at most one batch of pending reservations.
+     *
+     * @return The number of reservations applied.
+     */
+    public int applyBatch() {
+        Query query = Query.query(Criteria.where(LINKS_PENDING).is(true)).limit(batchSize);
+        query.fields().include("labId", "userId");
+        List<Reservation> pending = mongoTemplate.find(query, Reservation.class);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<String>> byLab = new HashMap<>();
+        Map<String, List<String>> byUser = new HashMap<>();
+        List<String> ids = new ArrayList<>(pending.size());
+        for (Reservation reservation : pending) {
+            byLab.computeIfAbsent(reservation.getLabId(), id -> new ArrayList<>()).add(reservation.getId());
+            byUser.computeIfAbsent(reservation.getUserId(), id -> new ArrayList<>()).add(reservation.getId());
+            ids.add(reservation.getId());
+        }
+        addToOwners(byLab, Lab.class);
+        addToOwners(byUser, User.class);
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)), new Update().unset(LINKS_PENDING),
+                Reservation.class);
+
+        applied.increment(pending.size());
+        return pending.size();
+    }
+
+    private void addToOwners(Map<String, List<String>> idsByOwner, Class<?> ownerType) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ownerType);
+        idsByOwner.forEach((ownerId, reservationIds) -> bulk.updateOne(
+                Query.query(Criteria.where("_id").is(ownerId)),
+                new Update().addToSet("reservations").each(reservationIds.toArray())));
+        bulk.execute();
+    }
+}
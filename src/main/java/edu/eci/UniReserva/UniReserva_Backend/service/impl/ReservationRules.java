@@ -0,0 +1,40 @@
+package edu.eci.UniReserva.UniReserva_Backend.service.impl;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Booking rules shared by the blocking and the reactive reservation services.
+ */
+final class ReservationRules {
+    static final String CONFLICT_MESSAGE = "There is already a reservation in the lab selected in the time selected";
+
+    private ReservationRules() {
+    }
+
+    /**
+     * Rejects reservations whose date or start time is already in the past.
+     *
+     * @throws IllegalArgumentException if the reservation starts in the past.
+     */
+    static void validateSchedule(Reservation reservation) {
+        if (!checkStartTime(reservation.getParsedStartTime(), reservation.getParsedDate())) {
+            throw new IllegalArgumentException(
+                    "The start time must be in the future. You cannot create a reservation with a past time");
+        }
+
+        if (!checkDate(reservation.getParsedDate())) {
+            throw new IllegalArgumentException("You cannot select a past date for your reservation");
+        }
+    }
+
+    private static boolean checkDate(LocalDate date) {
+        return !date.isBefore(LocalDate.now());
+    }
+
+    private static boolean checkStartTime(LocalTime startTime, LocalDate date) {
+        return !date.equals(LocalDate.now()) || startTime.isAfter(LocalTime.now());
+    }
+}
@@ -1,31 +1,68 @@
 package edu.eci.UniReserva.UniReserva_Backend.service.impl;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import edu.eci.UniReserva.UniReserva_Backend.config.ExecutorConfig;
+import edu.eci.UniReserva.UniReserva_Backend.config.MetricsConfig;
 import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
 import edu.eci.UniReserva.UniReserva_Backend.repository.LabRepository;
 import edu.eci.UniReserva.UniReserva_Backend.repository.UserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
 import edu.eci.UniReserva.UniReserva_Backend.service.ReservationService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import edu.eci.UniReserva.UniReserva_Backend.model.BatchReservationRequest;
+import edu.eci.UniReserva.UniReserva_Backend.model.BatchReservationResult;
 import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.ReservationCursor;
+import edu.eci.UniReserva.UniReserva_Backend.model.ReservationPage;
 import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class ReservationServiceImpl implements ReservationService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 200;
+
     private final ReservationRepository reservationRepository;
     private final LabRepository labRepository;
     private final UserRepository userRepository;
+    private final LabScheduleIndex labScheduleIndex;
+    private final Executor lookupExecutor;
+    private final Counter conflicts;
+    private final Counter batchConflicts;
 
     public ReservationServiceImpl(ReservationRepository reservationRepository, LabRepository labRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository, LabScheduleIndex labScheduleIndex,
+            @Qualifier(ExecutorConfig.LOOKUP_EXECUTOR) Executor lookupExecutor, MeterRegistry meterRegistry) {
         this.reservationRepository = reservationRepository;
         this.labRepository = labRepository;
         this.userRepository = userRepository;
+        this.labScheduleIndex = labScheduleIndex;
+        this.lookupExecutor = lookupExecutor;
+        this.conflicts = Counter.builder(MetricsConfig.RESERVATION_CONFLICTS)
+                .description("Reservations rejected because the lab was already booked")
+                .tag("operation", "single")
+                .register(meterRegistry);
+        this.batchConflicts = Counter.builder(MetricsConfig.RESERVATION_CONFLICTS)
+                .description("Reservations rejected because the lab was already booked")
+                .tag("operation", "batch")
+                .register(meterRegistry);
     }
 
     /**
@@ -38,37 +75,139 @@ public class ReservationServiceImpl implements ReservationService {
      *         - The reservation is successfully stored if the lab is available.
      *         - An exception is thrown if the lab is already booked for the
      *         requested time slot.
+     *
+     *         The availability check and the save run under the lock of the lab
+     *         and day, so concurrent requests for the same slot cannot both succeed.
+     *
+     *         The date and times are checked first, without querying anything. Then
+     *         the lab and user lookups and the read of the lab schedule are sent to
+     *         MongoDB at the same time. Errors are still reported in the order of the
+     *         checks; the first one cancels the lookups that have not started yet, while
+     *         those already running finish and their results are dropped. The schedule
+     *         read is only stored in the index once the lab and the user exist.
+     *
+     *         The reservation is saved with its links pending; the
+     *         {@link ReservationLinkApplier} adds its id to the lab and the user later.
      */
     @Override
     public Reservation createReservation(Reservation reservation) {
-        if (!labRepository.existsById(reservation.getLabId())) {
-            throw new IllegalArgumentException("The lab does not exist");
-        }
+        String labId = reservation.getLabId();
+        int epochDay = TimeSlot.parse(reservation.getDate(), reservation.getStartTime(), reservation.getEndTime())
+                .epochDay();
+        ReservationRules.validateSchedule(reservation);
 
-        if (!userRepository.existsById(reservation.getUserId())) {
-            throw new IllegalArgumentException("The user does not exist");
+        CompletableFuture<Boolean> labExists = supply(() -> labRepository.existsById(labId));
+        CompletableFuture<Boolean> userExists = supply(() -> userRepository.existsById(reservation.getUserId()));
+        CompletableFuture<Runnable> daySchedule = supply(() -> labScheduleIndex.fetch(labId, epochDay));
+        try {
+            if (!join(labExists)) {
+                throw new IllegalArgumentException("The lab does not exist");
+            }
+
+            if (!join(userExists)) {
+                throw new IllegalArgumentException("The user does not exist");
+            }
+
+            join(daySchedule).run();
+        } catch (RuntimeException e) {
+            cancel(userExists, daySchedule);
+            throw e;
         }
 
-        if (!checkStartTime(reservation.getParsedStartTime(), reservation.getParsedDate())) {
-            throw new IllegalArgumentException(
-                    "The start time must be in the future. You cannot create a reservation with a past time");
+        Reservation savedReservation;
+        Lock lock = labScheduleIndex.lockFor(reservation.getLabId(), reservation.getEpochDay());
+        lock.lock();
+        try {
+            if (!labScheduleIndex.isAvailable(reservation)) {
+                conflicts.increment();
+                throw new IllegalArgumentException(ReservationRules.CONFLICT_MESSAGE);
+            }
+
+            reservation.setLinksPending(true);
+            savedReservation = reservationRepository.save(reservation);
+            labScheduleIndex.add(savedReservation);
+        } finally {
+            lock.unlock();
         }
 
-        if (!checkDate(reservation.getParsedDate())) {
-            throw new IllegalArgumentException("You cannot select a past date for your reservation");
+        return savedReservation;
+    }
+
+    /**
+     * Creates several reservations of one lab for one user in a single operation.
+     *
+     * The lab and the user are validated once, the lab schedule of the whole period is loaded
+     * with one query, and every slot is checked against it and against the other slots of the
+     * batch. The accepted slots are stored with a single bulk insert while the locks of all the
+     * involved days are held, and their links are left to the {@link ReservationLinkApplier}.
+     *
+     * @param request The slots to book, listed explicitly and/or as a recurrence.
+     * @return One result per slot, in request order, with the created reservation id or the
+     *         reason the slot was rejected.
+     * @throws IllegalArgumentException if the lab or the user does not exist, or the batch is
+     *                                  empty or too large.
+     */
+    @Override
+    public List<BatchReservationResult> createReservations(BatchReservationRequest request) {
+        CompletableFuture<Boolean> labExists = supply(() -> labRepository.existsById(request.getLabId()));
+        CompletableFuture<Boolean> userExists = supply(() -> userRepository.existsById(request.getUserId()));
+        if (!join(labExists)) {
+            cancel(userExists);
+            throw new IllegalArgumentException("The lab does not exist");
         }
 
-        if (!isAvailable(reservation)) {
-            throw new IllegalArgumentException(
-                    "There is already a reservation in the lab selected in the time selected");
+        if (!join(userExists)) {
+            throw new IllegalArgumentException("The user does not exist");
         }
 
-        Reservation savedReservation = reservationRepository.save(reservation);
+        List<Reservation> requested = expandSlots(request);
+        BatchReservationResult[] results = new BatchReservationResult[requested.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requested.size(); i++) {
+            Reservation reservation = requested.get(i);
+            try {
+                TimeSlot.parse(reservation.getDate(), reservation.getStartTime(), reservation.getEndTime());
+                ReservationRules.validateSchedule(reservation);
+                candidates.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchReservationResult.rejected(requested.get(i), e.getMessage());
+            }
+        }
 
-        addReservationToLab(reservation);
-        addReservationToUser(reservation);
+        if (!candidates.isEmpty()) {
+            List<Integer> days = candidates.stream().map(i -> requested.get(i).getEpochDay()).collect(Collectors.toList());
+            List<Lock> locks = labScheduleIndex.locksFor(request.getLabId(), days);
+            locks.forEach(Lock::lock);
+            try {
+                labScheduleIndex.preloadDays(request.getLabId(), days);
+                List<Reservation> accepted = new ArrayList<>();
+                List<Integer> acceptedPositions = new ArrayList<>();
+                for (int i : candidates) {
+                    Reservation reservation = requested.get(i);
+                    if (!labScheduleIndex.isAvailable(reservation) || overlapsAny(reservation, accepted)) {
+                        batchConflicts.increment();
+                        results[i] = BatchReservationResult.rejected(reservation, ReservationRules.CONFLICT_MESSAGE);
+                    } else {
+                        reservation.setLinksPending(true);
+                        accepted.add(reservation);
+                        acceptedPositions.add(i);
+                    }
+                }
+                if (!accepted.isEmpty()) {
+                    List<Reservation> saved = reservationRepository.insert(accepted);
+                    for (int j = 0; j < saved.size(); j++) {
+                        labScheduleIndex.add(saved.get(j));
+                        results[acceptedPositions.get(j)] = BatchReservationResult.created(saved.get(j));
+                    }
+                }
+            } finally {
+                for (int i = locks.size() - 1; i >= 0; i--) {
+                    locks.get(i).unlock();
+                }
+            }
+        }
 
-        return savedReservation;
+        return Arrays.asList(results);
     }
 
     /**
@@ -83,11 +222,30 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Override
     public List<Reservation> getReservationsByUserId(String userId) {
-        return reservationRepository.findByUserId(userId)
-                .stream()
-                .sorted(Comparator.comparing(Reservation::getDate)
-                        .thenComparing(Reservation::getStartTime))
-                .collect(Collectors.toList());
+        return reservationRepository.findByUserIdOrderByEpochDayAscStartMinuteAsc(userId);
+    }
+
+    /**
+     * Retrieves one page of the reservations of a user, sorted by date and start time.
+     *
+     * @param userId the unique identifier of the user
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param size   the maximum number of reservations in the page
+     * @return the page, whose {@code nextCursor} is null when there are no more reservations
+     */
+    @Override
+    public ReservationPage getReservationsByUserId(String userId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        return toPage(reservationRepository.findUserPage(userId, ReservationCursor.decode(cursor), pageSize + 1), pageSize);
+    }
+
+    /**
+     * Streams the reservations of a user, sorted by date and start time, straight from a
+     * MongoDB cursor. The caller must close the stream.
+     */
+    @Override
+    public Stream<Reservation> streamReservationsByUserId(String userId) {
+        return reservationRepository.streamByUserIdOrderByEpochDayAscStartMinuteAsc(userId);
     }
 
     /**
@@ -113,61 +271,145 @@ public class ReservationServiceImpl implements ReservationService {
             throw new IllegalArgumentException("This reservation is already cancelled");
 
         reservation.setStatus(ReservationStatus.CANCELED);
-        return reservationRepository.save(reservation);
+        Reservation canceledReservation = reservationRepository.save(reservation);
+        labScheduleIndex.remove(reservation);
+        return canceledReservation;
     }
 
+    /**
+     * Retrieves the reservations of a lab between two dates, both inclusive.
+     *
+     * The filter is evaluated by MongoDB, so only the matching documents are transferred.
+     *
+     * @param lab   the unique identifier of the lab
+     * @param date1 the start date of the range
+     * @param date2 the end date of the range
+     * @return the reservations of the lab within the range
+     * @throws IllegalArgumentException if a date is invalid
+     */
+    @Override
     public List<Reservation> getReservationsByRangeDate(String lab, String date1, String date2) {
-        LocalDate startDate = LocalDate.parse(date1);
-        LocalDate endDate = LocalDate.parse(date2);
-        return reservationRepository.findAll().stream()
-                .filter(reservation -> !reservation.getParsedDate().isBefore(startDate)
-                        && !reservation.getParsedDate().isAfter(endDate) && lab.equals(reservation.getLabId()))
-                .collect(Collectors.toList());
+        int startDay = (int) TimeSlot.parseDate(date1).toEpochDay();
+        int endDay = (int) TimeSlot.parseDate(date2).toEpochDay();
+        return reservationRepository.findByLabIdAndEpochDayBetween(lab, startDay, endDay);
     }
 
-    private boolean checkDate(LocalDate date) {
-        return !date.isBefore(LocalDate.now());
+    /**
+     * Retrieves one page of the reservations of a lab between two dates, both inclusive, sorted
+     * by date and start time.
+     *
+     * @param lab    the unique identifier of the lab
+     * @param date1  the start date of the range
+     * @param date2  the end date of the range
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param size   the maximum number of reservations in the page
+     * @return the page, whose {@code nextCursor} is null when there are no more reservations
+     * @throws IllegalArgumentException if a date, the cursor or the size is invalid
+     */
+    @Override
+    public ReservationPage getReservationsByRangeDate(String lab, String date1, String date2, String cursor, int size) {
+        int pageSize = pageSize(size);
+        int startDay = (int) TimeSlot.parseDate(date1).toEpochDay();
+        int endDay = (int) TimeSlot.parseDate(date2).toEpochDay();
+        return toPage(reservationRepository.findLabPage(lab, startDay, endDay, ReservationCursor.decode(cursor), pageSize + 1),
+                pageSize);
     }
 
-    private boolean checkStartTime(LocalTime startTime, LocalDate date) {
-        return !date.equals(LocalDate.now()) || startTime.isAfter(LocalTime.now());
+    /**
+     * Streams the reservations of a lab between two dates, both inclusive, sorted by date and
+     * start time, straight from a MongoDB cursor. The caller must close the stream.
+     *
+     * @throws IllegalArgumentException if a date is invalid
+     */
+    @Override
+    public Stream<Reservation> streamReservationsByRangeDate(String lab, String date1, String date2) {
+        int startDay = (int) TimeSlot.parseDate(date1).toEpochDay();
+        int endDay = (int) TimeSlot.parseDate(date2).toEpochDay();
+        return reservationRepository.streamByLabIdAndEpochDayBetween(lab, startDay, endDay);
     }
 
-    private boolean isAvailable(Reservation reservation) {
-        List<Reservation> reservations = reservationRepository.findByLabId(reservation.getLabId());
+    private int pageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The page size must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
 
-        if (reservations.isEmpty())
-            return true;
+    private ReservationPage toPage(List<Reservation> reservations, int pageSize) {
+        if (reservations.size() <= pageSize) {
+            return new ReservationPage(reservations, null);
+        }
+        List<Reservation> items = reservations.subList(0, pageSize);
+        return new ReservationPage(items, ReservationCursor.of(items.get(pageSize - 1)).encode());
+    }
 
-        for (Reservation r : reservations) {
-            if (reservation.getParsedDate().equals(r.getParsedDate())) {
-                if (r.getStatus().equals(ReservationStatus.CONFIRMED)) {
-                    if (reservation.getParsedStartTime().isBefore(r.getParsedEndTime())
-                            && reservation.getParsedEndTime().isAfter(r.getParsedStartTime())) {
-                        return false;
-                    }
-                }
+    private List<Reservation> expandSlots(BatchReservationRequest request) {
+        List<Reservation> reservations = new ArrayList<>();
+        List<BatchReservationRequest.Slot> slots = request.getSlots() == null ? List.of() : request.getSlots();
+        for (BatchReservationRequest.Slot slot : slots) {
+            BatchReservationRequest.Slot given = slot == null ? new BatchReservationRequest.Slot() : slot;
+            reservations.add(new Reservation(request.getUserId(), request.getLabId(), given.getDate(),
+                    given.getStartTime(), given.getEndTime(), request.getPurpose()));
+        }
+        if (request.getFirstDate() != null && request.getLastDate() != null) {
+            if (request.getIntervalDays() < 1) {
+                throw new IllegalArgumentException("The recurrence interval must be at least one day");
+            }
+            LocalDate firstDate;
+            LocalDate lastDate;
+            try {
+                firstDate = LocalDate.parse(request.getFirstDate());
+                lastDate = LocalDate.parse(request.getLastDate());
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Invalid recurrence dates");
+            }
+            for (LocalDate date = firstDate; !date.isAfter(lastDate)
+                    && reservations.size() <= MAX_BATCH_SIZE; date = date.plusDays(request.getIntervalDays())) {
+                reservations.add(new Reservation(request.getUserId(), request.getLabId(), date.toString(),
+                        request.getStartTime(), request.getEndTime(), request.getPurpose()));
             }
         }
-
-        return true;
+        if (reservations.isEmpty()) {
+            throw new IllegalArgumentException("The batch does not contain any slot");
+        }
+        if (reservations.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_SIZE + " slots");
+        }
+        return reservations;
     }
 
-    private void addReservationToLab(Reservation reservation) {
-        labRepository.findById(reservation.getLabId()).ifPresent(lab -> {
-            if (lab.getReservations() != null && !lab.getReservations().contains(reservation.getId())) {
-                lab.addReservation(reservation.getId());
-                labRepository.save(lab);
+    private boolean overlapsAny(Reservation reservation, List<Reservation> others) {
+        for (Reservation other : others) {
+            if (other.getEpochDay() == reservation.getEpochDay()
+                    && reservation.getStartMinute() < other.getEndMinute()
+                    && other.getStartMinute() < reservation.getEndMinute()) {
+                return true;
             }
-        });
+        }
+        return false;
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(lookup, lookupExecutor);
     }
 
-    private void addReservationToUser(Reservation reservation) {
-        userRepository.findById(reservation.getUserId()).ifPresent(user -> {
-            if (user.getReservations() != null && !user.getReservations().contains(reservation.getId())) {
-                user.addReservationId(reservation.getId());
-                userRepository.save(user);
+    /**
+     * Waits for an asynchronous call and rethrows its own exception rather than a wrapper.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-        });
+            throw e;
+        }
+    }
+
+    private static void cancel(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(false);
+        }
     }
 }
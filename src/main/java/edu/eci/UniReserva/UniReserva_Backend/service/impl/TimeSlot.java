@@ -0,0 +1,46 @@
+package edu.eci.UniReserva.UniReserva_Backend.service.impl;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * A time slot of an availability query, in the units used by the schedule index.
+ *
+ * @param epochDay Day of the slot, as days since 1970-01-01.
+ * @param start    Start of the slot, in minutes since midnight.
+ * @param end      End of the slot, in minutes since midnight.
+ */
+record TimeSlot(int epochDay, int start, int end) {
+
+    /**
+     * Parses a slot given as a {@code yyyy-MM-dd} date and {@code HH:mm} times.
+     *
+     * @throws IllegalArgumentException if the date or times are invalid or the slot is empty.
+     */
+    static TimeSlot parse(String date, String startTime, String endTime) {
+        int epochDay = (int) parseDate(date).toEpochDay();
+        int start;
+        int end;
+        try {
+            start = Reservation.toMinuteOfDay(LocalTime.parse(startTime));
+            end = Reservation.toMinuteOfDay(LocalTime.parse(endTime));
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid times");
+        }
+        if (end <= start) {
+            throw new IllegalArgumentException("The end time must be after the start time");
+        }
+        return new TimeSlot(epochDay, start, end);
+    }
+
+    static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid dates");
+        }
+    }
+}
@@ -1,21 +1,34 @@
 package edu.eci.UniReserva.UniReserva_Backend.service.impl;
 
+import edu.eci.UniReserva.UniReserva_Backend.config.MetricsConfig;
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
 import edu.eci.UniReserva.UniReserva_Backend.repository.LabRepository;
 import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
 import edu.eci.UniReserva.UniReserva_Backend.repository.UserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordHasher;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordPolicy;
 import edu.eci.UniReserva.UniReserva_Backend.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ReservationRepository reservationRepository;
+    private final PasswordHasher passwordHasher;
+    private final PasswordPolicy passwordPolicy;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, ReservationRepository reservationRepository,
+            PasswordHasher passwordHasher, PasswordPolicy passwordPolicy) {
         this.userRepository = userRepository;
+        this.reservationRepository = reservationRepository;
+        this.passwordHasher = passwordHasher;
+        this.passwordPolicy = passwordPolicy;
     }
 
     @Override
@@ -37,44 +50,40 @@ public class UserServiceImpl implements UserService {
         }
 
         if (user.getPassword() != null) {
-            if (!validPassword(user.getPassword())) {
+            if (!passwordPolicy.isValid(user.getPassword())) {
                 throw new IllegalArgumentException("Invalid password");
             }
-            existingUser.setPassword(user.getPassword());
+            existingUser.setPassword(passwordHasher.hash(user.getPassword()));
         }
 
         return userRepository.save(existingUser);
     }
 
+    /**
+     * Deletes a user that has no reservations. The reservations collection is checked instead of
+     * the id list of the user, which the outbox fills only after the reservation is stored.
+     *
+     * @throws IllegalArgumentException if the user does not exist or has reservations.
+     */
     @Override
     public String deleteUser(String id) {
         if (!userRepository.existsById(id)) {
             throw new IllegalArgumentException("User not found");
         }
-        if (hasRepository(id)){
+        if (reservationRepository.existsByUserId(id)) {
             throw new IllegalArgumentException("User has Repository, can't be deleted");
         }
         userRepository.deleteById(id);
         return "User with ID " + id + " deleted successfully";
     }
 
+    /**
+     * Returns the public fields of a user, reading only those from MongoDB.
+     *
+     * @throws IllegalArgumentException if the user does not exist.
+     */
     @Override
-    public User getUser(String id) {
-        return userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("User not found"));
-    }
-
-    private boolean validPassword(String password) {
-        return password.matches("^(?=.*[A-Z])(?=.*\\d)(?=.*[^A-Za-z0-9]).{8,}$");
-    }
-
-    private boolean hasRepository(String id) {
-        User usuario = userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("User not found"));
-        if(usuario.getReservations() == null) {
-            return false;
-        }
-        if(!(usuario.getReservations().size()>0)){
-            return false;
-        }
-        return true;
+    public UserSummary getUser(String id) {
+        return userRepository.findSummaryById(id).orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 }
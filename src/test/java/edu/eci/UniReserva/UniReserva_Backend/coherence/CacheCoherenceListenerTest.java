@@ -0,0 +1,178 @@
+package edu.eci.UniReserva.UniReserva_Backend.coherence;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.LabService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CacheCoherenceListenerTest {
+
+    private ReservationRepository reservationRepository;
+    private LabScheduleIndex labScheduleIndex;
+    private LabService labService;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheCoherenceListener listener;
+    private int epochDay;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = Mockito.mock(ReservationRepository.class);
+        labScheduleIndex = new LabScheduleIndex(reservationRepository);
+        labService = Mockito.mock(LabService.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        MongoTemplate mongoTemplate = Mockito.mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+
+        listener = new CacheCoherenceListener(mongoTemplate, labScheduleIndex, labService, Duration.ofSeconds(1), meterRegistry);
+        epochDay = (int) LocalDate.now().plusDays(3).toEpochDay();
+        labScheduleIndex.load("lab01", epochDay, List.of(), labScheduleIndex.changeSequence());
+    }
+
+    @Test
+    void shouldPatchTheIndexWithReservationsInsertedByOtherNodes() {
+        ObjectId id = new ObjectId();
+
+        listener.apply(event(OperationType.INSERT, "reservations", id, reservationDocument(id, "lab01", epochDay, "CONFIRMED"), null));
+
+        assertFalse(labScheduleIndex.isFree("lab01", epochDay, 600, 660));
+        assertEquals(1.0, meterRegistry.get("unireserva.coherence.events").tag("collection", "reservations").counter().count());
+    }
+
+    @Test
+    void shouldNotLoadDaysThatAreNotIndexed() {
+        ObjectId id = new ObjectId();
+
+        listener.apply(event(OperationType.INSERT, "reservations", id, reservationDocument(id, "lab02", epochDay, "CONFIRMED"), null));
+
+        assertFalse(labScheduleIndex.isLoaded("lab02", epochDay));
+        verify(reservationRepository, never()).findByLabIdAndEpochDay(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldRemoveReservationsCanceledByOtherNodes() {
+        ObjectId id = new ObjectId();
+        listener.apply(event(OperationType.INSERT, "reservations", id, reservationDocument(id, "lab01", epochDay, "CONFIRMED"), null));
+
+        listener.apply(event(OperationType.UPDATE, "reservations", id, reservationDocument(id, "lab01", epochDay, "CANCELED"),
+                new UpdateDescription(null, new BsonDocument("status", new BsonString("CANCELED")))));
+
+        assertTrue(labScheduleIndex.isFree("lab01", epochDay, 600, 660));
+    }
+
+    @Test
+    void shouldIgnoreUpdatesThatDoNotChangeTheSlot() {
+        ObjectId id = new ObjectId();
+
+        listener.apply(event(OperationType.UPDATE, "reservations", id, reservationDocument(id, "lab01", epochDay, "CONFIRMED"),
+                new UpdateDescription(List.of("linksPending"), new BsonDocument())));
+
+        assertTrue(labScheduleIndex.isFree("lab01", epochDay, 600, 660));
+    }
+
+    @Test
+    void shouldMoveReservationsWhoseSlotChanged() {
+        ObjectId id = new ObjectId();
+        int nextDay = epochDay + 1;
+        labScheduleIndex.load("lab01", nextDay, List.of(), labScheduleIndex.changeSequence());
+        listener.apply(event(OperationType.INSERT, "reservations", id, reservationDocument(id, "lab01", epochDay, "CONFIRMED"), null));
+
+        listener.apply(event(OperationType.UPDATE, "reservations", id, reservationDocument(id, "lab01", nextDay, "CONFIRMED"),
+                new UpdateDescription(null, new BsonDocument("epochDay", new BsonInt32(nextDay)))));
+
+        assertTrue(labScheduleIndex.isFree("lab01", epochDay, 600, 660));
+        assertFalse(labScheduleIndex.isFree("lab01", nextDay, 600, 660));
+    }
+
+    @Test
+    void shouldRemoveDeletedReservationsByTheirId() {
+        ObjectId id = new ObjectId();
+        listener.apply(event(OperationType.INSERT, "reservations", id, reservationDocument(id, "lab01", epochDay, "CONFIRMED"), null));
+
+        listener.apply(event(OperationType.DELETE, "reservations", id, null, null));
+
+        assertTrue(labScheduleIndex.isFree("lab01", epochDay, 600, 660));
+    }
+
+    @Test
+    void shouldEvictTheLabCatalogUnlessOnlyTheReservationListChanged() {
+        ObjectId id = new ObjectId();
+
+        listener.apply(event(OperationType.UPDATE, "labs", id, null,
+                new UpdateDescription(null, new BsonDocument("reservations.3", new BsonString("r1")))));
+        verify(labService, never()).evictLabCatalog();
+
+        listener.apply(event(OperationType.UPDATE, "labs", id, null,
+                new UpdateDescription(null, new BsonDocument("capacity", new BsonInt32(40)))));
+        verify(labService).evictLabCatalog();
+    }
+
+    @Test
+    void shouldClearEveryCacheWhenACollectionIsDropped() {
+        listener.apply(event(OperationType.DROP, "reservations", null, null, null));
+
+        assertFalse(labScheduleIndex.isLoaded("lab01", epochDay));
+        verify(labService).evictLabCatalog();
+        assertEquals(1.0, meterRegistry.get("unireserva.coherence.resets").counter().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<Document> event(OperationType operation, String collection, ObjectId id,
+            Document fullDocument, UpdateDescription updateDescription) {
+        ChangeStreamDocument<Document> event = Mockito.mock(ChangeStreamDocument.class);
+        when(event.getOperationType()).thenReturn(operation);
+        when(event.getNamespace()).thenReturn(new MongoNamespace("unireserva", collection));
+        if (id != null) {
+            when(event.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonObjectId(id)));
+        }
+        when(event.getFullDocument()).thenReturn(fullDocument);
+        when(event.getUpdateDescription()).thenReturn(updateDescription);
+        return event;
+    }
+
+    private static Document reservationDocument(ObjectId id, String labId, int epochDay, String status) {
+        return new Document("_id", id)
+                .append("userId", "user123")
+                .append("labId", labId)
+                .append("date", LocalDate.ofEpochDay(epochDay).toString())
+                .append("startTime", "10:00")
+                .append("endTime", "11:00")
+                .append("status", status)
+                .append("epochDay", epochDay)
+                .append("startMinute", 600)
+                .append("endMinute", 660);
+    }
+}
@@ -0,0 +1,117 @@
+package edu.eci.UniReserva.UniReserva_Backend.coherence;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.LabService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the listener against a real change stream. Start a local single-node replica set and point
+ * {@code MONGO_REPLICA_SET_URI} at it, for example:
+ *
+ * <pre>
+ * docker run -d -p 27017:27017 mongo:7 --replSet rs0
+ * docker exec &lt;container&gt; mongosh --eval "rs.initiate()"
+ * MONGO_REPLICA_SET_URI=mongodb://localhost:27017/?directConnection=true mvn test -Dtest=CacheCoherenceReplicaSetTest
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "MONGO_REPLICA_SET_URI", matches = ".+")
+public class CacheCoherenceReplicaSetTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private LabScheduleIndex labScheduleIndex;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheCoherenceListener listener;
+    private int epochDay;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(System.getenv("MONGO_REPLICA_SET_URI"));
+        mongoTemplate = new MongoTemplate(client, "unireserva_coherence_" + System.nanoTime());
+        labScheduleIndex = new LabScheduleIndex(Mockito.mock(ReservationRepository.class));
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new CacheCoherenceListener(mongoTemplate, labScheduleIndex, Mockito.mock(LabService.class),
+                Duration.ofMillis(200), meterRegistry);
+        epochDay = (int) LocalDate.now().plusDays(3).toEpochDay();
+        labScheduleIndex.load("lab01", epochDay, List.of(), labScheduleIndex.changeSequence());
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    @Test
+    void shouldFollowBookingsAndCancellationsOfOtherNodes() {
+        listener.start();
+
+        Reservation reservation = mongoTemplate.insert(reservation("10:00", "11:00"));
+        await(() -> !labScheduleIndex.isFree("lab01", epochDay, 600, 660));
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(reservation.getId())),
+                Update.update("status", ReservationStatus.CANCELED), Reservation.class);
+        await(() -> labScheduleIndex.isFree("lab01", epochDay, 600, 660));
+    }
+
+    @Test
+    void shouldResumeAfterTheCheckpointWithoutClearingTheIndex() {
+        listener.start();
+        mongoTemplate.insert(reservation("08:00", "09:00"));
+        await(() -> !labScheduleIndex.isFree("lab01", epochDay, 480, 540));
+        listener.stop();
+
+        mongoTemplate.insert(reservation("10:00", "11:00"));
+        listener.start();
+
+        await(() -> !labScheduleIndex.isFree("lab01", epochDay, 600, 660));
+        assertTrue(labScheduleIndex.isLoaded("lab01", epochDay));
+        assertEquals(0.0, meterRegistry.get("unireserva.coherence.resets").counter().count());
+    }
+
+    private Reservation reservation(String startTime, String endTime) {
+        Reservation reservation = new Reservation("user123", "lab01", LocalDate.ofEpochDay(epochDay).toString(),
+                startTime, endTime, "Class");
+        reservation.resolveTypedFields();
+        return reservation;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("The change was not applied within " + TIMEOUT);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package edu.eci.UniReserva.UniReserva_Backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.UniReserva.UniReserva_Backend.config.TokenFilterConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.LoginResponse;
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
+import edu.eci.UniReserva.UniReserva_Backend.security.AccessToken;
+import edu.eci.UniReserva.UniReserva_Backend.security.IssuedToken;
+import edu.eci.UniReserva.UniReserva_Backend.security.TokenService;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +15,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -16,14 +24,19 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(AuthController.class)
+@Import({TokenService.class, TokenFilterConfig.class})
 public class AuthServiceControllerTest {
 
     @Autowired
@@ -32,6 +45,9 @@ public class AuthServiceControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TokenService tokenService;
+
     @MockitoBean
     private AuthServiceImpl authServiceImpl;
 
@@ -53,12 +69,45 @@ public class AuthServiceControllerTest {
     @Test
     void testLoginSuccess() throws Exception {
         String validUserJson = objectMapper.writeValueAsString(validUser);
-        when(authServiceImpl.authenticateLogin(validUser.getEmail(), validUser.getPassword())).thenReturn(validUser);
+        IssuedToken token = tokenService.issue(validUser);
+        when(authServiceImpl.login(validUser.getEmail(), validUser.getPassword())).thenReturn(new LoginResponse(
+                token.value(), "Bearer", token.claims().expiresAt(), new UserSummary("1037126548", "Daniel", "email@gmail.com")));
         mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(validUserJson))
                 .andExpect(status().isOk())
-                .andExpect(content().json(validUserJson));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.token").value(token.value()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.user.id").value("1037126548"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.user.password").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.user.reservations").doesNotExist());
+    }
+
+    @Test
+    void shouldIdentifyTheUserFromTheTokenUntilLogout() throws Exception {
+        String authorization = "Bearer " + tokenService.issue(validUser).value();
+        doAnswer(invocation -> {
+            tokenService.revoke(invocation.getArgument(0));
+            return null;
+        }).when(authServiceImpl).logout(any(AccessToken.class));
+
+        mockMvc.perform(get("/auth/me").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":\"1037126548\",\"name\":\"Daniel\",\"email\":\"email@gmail.com\"}"));
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/auth/me").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string("{\"error\":\"Invalid or expired token\"}"));
+    }
+
+    @Test
+    void shouldRequireATokenToIdentifyTheUser() throws Exception {
+        mockMvc.perform(get("/auth/me"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string("{\"error\":\"Authentication required\"}"));
+        mockMvc.perform(get("/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer forged.token"))
+                .andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -66,7 +115,7 @@ public class AuthServiceControllerTest {
         String email = "test@example.com";
         String password = "wrongpassword";
         String requestBody = "{\"email\":\"" + email + "\", \"password\":\"" + password + "\"}";
-        when(authServiceImpl.authenticateLogin(any(), any()))
+        when(authServiceImpl.login(any(), any()))
                 .thenThrow(new IllegalArgumentException("Invalid email or password"));
 
         mockMvc.perform(post("/auth/login")
@@ -84,7 +133,9 @@ public class AuthServiceControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(validUserJson))
                 .andExpect(status().isCreated())
-                .andExpect(content().json(validUserJson));
+                .andExpect(content().json(objectMapper.writeValueAsString(UserSummary.of(validUser2))))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.password").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.reservations").doesNotExist());
     }
 
     @Test
@@ -110,4 +161,17 @@ public class AuthServiceControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("{\"error\":\"Invalid password\"}"));
     }
+
+    @Test
+    void shouldAnswerServiceUnavailableWhenHashingIsSaturated() throws Exception {
+        when(authServiceImpl.login(validUser.getEmail(), validUser.getPassword()))
+                .thenThrow(new RejectedExecutionException("saturated"));
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validUser)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"))
+                .andExpect(content().string("{\"error\":\"The server is busy, please try again\"}"));
+    }
 }
@@ -1,23 +1,31 @@
 package edu.eci.UniReserva.UniReserva_Backend.controller;
 
+import edu.eci.UniReserva.UniReserva_Backend.config.CacheConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.DayAvailability;
 import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.model.SlotAvailability;
+import edu.eci.UniReserva.UniReserva_Backend.service.LabSearchService;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.LabServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(LabController.class)
+@Import(CacheConfig.class)
 public class LabServiceControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -25,6 +33,9 @@ public class LabServiceControllerTest {
     @MockitoBean
     private LabServiceImpl labService;
 
+    @MockitoBean
+    private LabSearchService labSearchService;
+
     @Test
     void shouldReturnAllLabs() throws Exception {
         List<Lab> labs = List.of(
@@ -37,6 +48,74 @@ public class LabServiceControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].name").value("Lab de Física"))
-                .andExpect(jsonPath("$[1].name").value("Lab de Química"));
+                .andExpect(jsonPath("$[1].name").value("Lab de Química"))
+                .andExpect(jsonPath("$[0].reservations").doesNotExist());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenTheCatalogIsUnchanged() throws Exception {
+        when(labService.getLabs()).thenReturn(List.of(new Lab("Lab de Física", 30, new HashMap<>())));
+
+        String etag = mockMvc.perform(get("/labs/allLabs"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/labs/allLabs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldReturnAvailabilityOfALab() throws Exception {
+        when(labService.getAvailability("lab01", "2025-05-05", "2025-05-05", 60)).thenReturn(List.of(
+                new DayAvailability("2025-05-05", List.of(new SlotAvailability("10:00", "11:00", false)))));
+
+        mockMvc.perform(get("/labs/lab01/availability?from=2025-05-05&to=2025-05-05&granularity=60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].date").value("2025-05-05"))
+                .andExpect(jsonPath("$[0].slots[0].startTime").value("10:00"))
+                .andExpect(jsonPath("$[0].slots[0].free").value(false));
+    }
+
+    @Test
+    void shouldReturnBadRequestForAnInvalidGranularity() throws Exception {
+        when(labService.getAvailability("lab01", "2025-05-05", "2025-05-05", 20))
+                .thenThrow(new IllegalArgumentException("The granularity must be a multiple of 15 minutes that divides a day"));
+
+        mockMvc.perform(get("/labs/lab01/availability?from=2025-05-05&to=2025-05-05&granularity=20"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("The granularity must be a multiple of 15 minutes that divides a day"));
+    }
+
+    @Test
+    void shouldReturnFreeLabsFromTheCatalog() throws Exception {
+        List<Lab> labs = List.of(new Lab("Lab de Física", 30, new HashMap<>()));
+        when(labService.getLabs()).thenReturn(labs);
+        when(labService.getFreeLabs(labs, "2025-05-06", "10:00", "12:00")).thenReturn(labs);
+
+        mockMvc.perform(get("/labs/free?date=2025-05-06&startTime=10:00&endTime=12:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Lab de Física"));
+    }
+
+    @Test
+    void shouldSearchLabsWithEquipmentRequirements() throws Exception {
+        when(labSearchService.searchFreeLabs("2025-05-06", "10:00", "12:00", 30,
+                Map.of("Computadoras", 10, "Proyectores", 1), 5))
+                .thenReturn(List.of(new Lab("Lab de Sistemas", 30, new HashMap<>())));
+
+        mockMvc.perform(get("/labs/search?date=2025-05-06&startTime=10:00&endTime=12:00&minCapacity=30"
+                        + "&equipment=Computadoras:10&equipment=Proyectores:1&limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Lab de Sistemas"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForMalformedEquipment() throws Exception {
+        mockMvc.perform(get("/labs/search?date=2025-05-06&startTime=10:00&endTime=12:00&equipment=Computadoras"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Equipment must be given as name:quantity"));
     }
 }
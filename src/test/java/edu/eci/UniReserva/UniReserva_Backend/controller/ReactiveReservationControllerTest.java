@@ -0,0 +1,102 @@
+package edu.eci.UniReserva.UniReserva_Backend.controller;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.service.ReactiveReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class ReactiveReservationControllerTest {
+
+    private ReactiveReservationService reservationService;
+    private WebTestClient webTestClient;
+    private Reservation testReservation;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = Mockito.mock(ReactiveReservationService.class);
+        webTestClient = WebTestClient.bindToController(new ReactiveReservationController(reservationService)).build();
+        testReservation = new Reservation("user123", "lab01", "2025-05-01", "10:00", "12:00", "Project research");
+        testReservation.setId("r1");
+    }
+
+    @Test
+    void shouldCreateReservation() {
+        when(reservationService.createReservation(any(Reservation.class))).thenReturn(Mono.just(testReservation));
+
+        webTestClient.post().uri("/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testReservation)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("r1")
+                .jsonPath("$.epochDay").doesNotExist();
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenTheSlotIsTaken() {
+        when(reservationService.createReservation(any(Reservation.class))).thenReturn(
+                Mono.error(new IllegalArgumentException("There is already a reservation in the lab selected in the time selected")));
+
+        webTestClient.post().uri("/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testReservation)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class)
+                .isEqualTo("There is already a reservation in the lab selected in the time selected");
+    }
+
+    @Test
+    void shouldStreamRangeAsNdjson() {
+        Reservation second = new Reservation("user456", "lab01", "2025-05-02", "08:00", "09:00", "Lab practice");
+        when(reservationService.getReservationsByRangeDate("lab01", "2025-05-01", "2025-05-31"))
+                .thenReturn(Flux.just(testReservation, second));
+
+        String body = webTestClient.get().uri("/reservations/range/stream?lab=lab01&date1=2025-05-01&date2=2025-05-31")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(true, lines[1].contains("\"userId\":\"user456\""));
+    }
+
+    @Test
+    void shouldRejectAnInvalidRangeDate() {
+        when(reservationService.getReservationsByRangeDate("lab01", "2025-13-01", "2025-05-31"))
+                .thenReturn(Flux.error(new IllegalArgumentException("Invalid dates")));
+
+        webTestClient.get().uri("/reservations/range/stream?lab=lab01&date1=2025-13-01&date2=2025-05-31")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldListUserReservationsAsJsonArray() {
+        when(reservationService.getReservationsByUserId("user123")).thenReturn(Flux.just(testReservation));
+
+        webTestClient.get().uri("/reservations/user/user123")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].labId").isEqualTo("lab01");
+    }
+}
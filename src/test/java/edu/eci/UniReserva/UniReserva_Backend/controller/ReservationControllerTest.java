@@ -5,6 +5,8 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +14,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -22,6 +26,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -29,7 +34,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import edu.eci.UniReserva.UniReserva_Backend.model.BatchReservationRequest;
+import edu.eci.UniReserva.UniReserva_Backend.model.BatchReservationResult;
 import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.ReservationPage;
+import org.springframework.test.web.servlet.MvcResult;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.ReservationServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +51,9 @@ public class ReservationControllerTest {
     @Mock
     private ReservationServiceImpl reservationServiceImpl;
 
+    @Spy
+    private ObjectMapper jsonMapper = new ObjectMapper();
+
     @InjectMocks
     private ReservationController reservationController;
 
@@ -83,6 +95,23 @@ public class ReservationControllerTest {
     }
 
 
+    @Test
+    void shouldKeepTypedDateFieldsOutOfTheJsonView() throws Exception {
+        testReservation.resolveTypedFields();
+        when(reservationServiceImpl.createReservation(any(Reservation.class))).thenReturn(testReservation);
+
+        mockMvc.perform(post("/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testReservation)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.date").value("2025-05-01"))
+                .andExpect(jsonPath("$.startTime").value("10:00"))
+                .andExpect(jsonPath("$.epochDay").doesNotExist())
+                .andExpect(jsonPath("$.startMinute").doesNotExist())
+                .andExpect(jsonPath("$.endMinute").doesNotExist());
+    }
+
+
     @Test
     public void shouldReturnReservationsForUser() throws Exception {
         String userId = "user123";
@@ -150,4 +179,96 @@ public class ReservationControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("{\"error\":\"This reservation is already cancelled\"}"));
     }
+
+    @Test
+    void shouldReturnAPageOfUserReservations() throws Exception {
+        when(reservationServiceImpl.getReservationsByUserId("user123", null, 1))
+                .thenReturn(new ReservationPage(List.of(testReservation), "next"));
+
+        mockMvc.perform(get("/reservations/user/{userId}/page", "user123").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].labId").value("lab01"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void shouldRejectAnInvalidCursor() throws Exception {
+        when(reservationServiceImpl.getReservationsByRangeDate("lab01", "2025-05-01", "2025-05-31", "bad", 20))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/reservations/range/page")
+                        .param("lab", "lab01").param("date1", "2025-05-01").param("date2", "2025-05-31")
+                        .param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("{\"error\":\"Invalid cursor\"}"));
+    }
+
+    @Test
+    void shouldRejectAnInvalidRangeDate() throws Exception {
+        when(reservationServiceImpl.getReservationsByRangeDate("lab01", "2025-13-01", "2025-05-31", null, 20))
+                .thenThrow(new IllegalArgumentException("Invalid dates"));
+
+        mockMvc.perform(get("/reservations/range/page")
+                        .param("lab", "lab01").param("date1", "2025-13-01").param("date2", "2025-05-31"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("{\"error\":\"Invalid dates\"}"));
+    }
+
+    @Test
+    void shouldRejectAnInvalidRangeDateBeforeStreaming() throws Exception {
+        when(reservationServiceImpl.streamReservationsByRangeDate("lab01", "not-a-date", "2025-05-31"))
+                .thenThrow(new IllegalArgumentException("Invalid dates"));
+
+        MvcResult result = mockMvc.perform(get("/reservations/range/stream")
+                        .param("lab", "lab01").param("date1", "not-a-date").param("date2", "2025-05-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string("{\"error\":\"Invalid dates\"}"));
+    }
+
+    @Test
+    void shouldStreamUserReservationsAsNdjson() throws Exception {
+        Reservation second = new Reservation("user123", "lab02", "2025-05-02", "08:00", "09:00", "Study");
+        when(reservationServiceImpl.streamReservationsByUserId("user123")).thenReturn(Stream.of(testReservation, second));
+
+        MvcResult result = mockMvc.perform(get("/reservations/user/{userId}/stream", "user123"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("lab01", objectMapper.readTree(lines[0]).get("labId").asText());
+        assertEquals("lab02", objectMapper.readTree(lines[1]).get("labId").asText());
+    }
+
+    @Test
+    void shouldReturnOneResultPerBatchSlot() throws Exception {
+        testReservation.setId("r1");
+        Reservation conflicting = new Reservation("user123", "lab01", "2025-05-08", "10:00", "12:00", "Project research");
+        when(reservationServiceImpl.createReservations(any(BatchReservationRequest.class))).thenReturn(List.of(
+                BatchReservationResult.created(testReservation),
+                BatchReservationResult.rejected(conflicting, "There is already a reservation in the lab selected in the time selected")));
+
+        mockMvc.perform(post("/reservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"user123\",\"labId\":\"lab01\",\"firstDate\":\"2025-05-01\","
+                                + "\"lastDate\":\"2025-05-08\",\"startTime\":\"10:00\",\"endTime\":\"12:00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].reservationId").value("r1"))
+                .andExpect(jsonPath("$[0].created").value(true))
+                .andExpect(jsonPath("$[1].date").value("2025-05-08"))
+                .andExpect(jsonPath("$[1].created").value(false))
+                .andExpect(jsonPath("$[1].reservationId").doesNotExist());
+    }
 }
@@ -0,0 +1,94 @@
+package edu.eci.UniReserva.UniReserva_Backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import edu.eci.UniReserva.UniReserva_Backend.config.BinaryFormatsConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.ReservationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReservationController.class)
+@Import(BinaryFormatsConfig.class)
+public class ReservationFormatsTest {
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ReservationServiceImpl reservationServiceImpl;
+
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        reservation = new Reservation("user123", "lab01", "2025-05-01", "10:00", "12:00", "Project research");
+        reservation.setId("r1");
+        when(reservationServiceImpl.getReservationsByRangeDate("lab01", "2025-05-01", "2025-05-31"))
+                .thenReturn(List.of(reservation));
+    }
+
+    @Test
+    void shouldKeepJsonAsTheDefaultFormat() throws Exception {
+        mockMvc.perform(get("/reservations/range?lab=lab01&date1=2025-05-01&date2=2025-05-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/reservations/range?lab=lab01&date1=2025-05-01&date2=2025-05-31")
+                        .accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldAnswerWithTheSameFieldsInCborAndSmile() throws Exception {
+        JsonNode expected = objectMapper.readTree(rangeAs(MediaType.APPLICATION_JSON));
+
+        JsonNode cbor = objectMapper.copyWith(new CBORFactory()).readTree(rangeAs(MediaType.APPLICATION_CBOR));
+        JsonNode smile = objectMapper.copyWith(new SmileFactory()).readTree(rangeAs(SMILE));
+
+        assertEquals(expected, cbor);
+        assertEquals(expected, smile);
+        assertEquals("lab01", cbor.get(0).get("labId").asText());
+        assertFalse(cbor.get(0).has("epochDay"));
+    }
+
+    @Test
+    void shouldAcceptCborRequestBodies() throws Exception {
+        when(reservationServiceImpl.createReservation(any(Reservation.class))).thenReturn(reservation);
+        byte[] body = objectMapper.copyWith(new CBORFactory()).writeValueAsBytes(reservation);
+
+        mockMvc.perform(post("/reservations").contentType(MediaType.APPLICATION_CBOR).content(body)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    private byte[] rangeAs(MediaType mediaType) throws Exception {
+        return mockMvc.perform(get("/reservations/range?lab=lab01&date1=2025-05-01&date2=2025-05-31").accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
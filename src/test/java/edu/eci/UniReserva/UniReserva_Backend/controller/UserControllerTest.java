@@ -17,6 +17,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.UserServiceImpl;
 
 @WebMvcTest(UserController.class)
@@ -50,7 +51,9 @@ class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(updateNameJson))
                 .andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(updatedUser)));
+                .andExpect(content().json(objectMapper.writeValueAsString(UserSummary.of(updatedUser))))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(jsonPath("$.reservations").doesNotExist());
     }
 
     @Test
@@ -64,7 +67,9 @@ class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(updatePasswordJson))
                 .andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(updatedUser)));
+                .andExpect(content().json(objectMapper.writeValueAsString(UserSummary.of(updatedUser))))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(jsonPath("$.reservations").doesNotExist());
     }
 
     @Test
@@ -132,7 +137,7 @@ class UserControllerTest {
 
     @Test
     void shouldGetUserByIdUserFound() throws Exception {
-        User user = new User("1234567", "Chente", "chentechaurio@example.com", null);
+        UserSummary user = new UserSummary("1234567", "Chente", "chentechaurio@example.com");
 
         when(userServiceImpl.getUser("1234567")).thenReturn(user);
 
@@ -140,7 +145,9 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value("1234567"))
                 .andExpect(jsonPath("$.name").value("Chente"))
-                .andExpect(jsonPath("$.email").value("chentechaurio@example.com"));
+                .andExpect(jsonPath("$.email").value("chentechaurio@example.com"))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(jsonPath("$.reservations").doesNotExist());
     }
 
 
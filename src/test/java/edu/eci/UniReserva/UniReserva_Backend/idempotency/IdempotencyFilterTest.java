@@ -0,0 +1,214 @@
+package edu.eci.UniReserva.UniReserva_Backend.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.UniReserva.UniReserva_Backend.controller.AuthController;
+import edu.eci.UniReserva.UniReserva_Backend.controller.ReservationController;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.AuthServiceImpl;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.ReservationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class IdempotencyFilterTest {
+    private static final String BODY = "{\"userId\":\"user123\",\"labId\":\"lab01\",\"date\":\"2030-05-01\","
+            + "\"startTime\":\"10:00\",\"endTime\":\"12:00\",\"purpose\":\"Project research\"}";
+    private static final int MAX_BODY_SIZE = 1024;
+
+    private ReservationServiceImpl reservationService;
+    private AuthServiceImpl authService;
+    private IdempotencyStore store;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = Mockito.mock(ReservationServiceImpl.class);
+        authService = Mockito.mock(AuthServiceImpl.class);
+        store = new InMemoryIdempotencyStore(Duration.ofMinutes(5), 100);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ReservationController(reservationService, new ObjectMapper()),
+                        new AuthController(authService))
+                .addFilters(new IdempotencyFilter(store, Set.of("/reservations", "/auth/signup"), MAX_BODY_SIZE))
+                .build();
+
+        Reservation created = new Reservation("user123", "lab01", "2030-05-01", "10:00", "12:00", "Project research");
+        created.setId("r1");
+        when(reservationService.createReservation(any(Reservation.class))).thenReturn(created);
+    }
+
+    @Test
+    void shouldReplayTheStoredResponseWithoutBookingAgain() throws Exception {
+        mockMvc.perform(post("/reservations").header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value("r1"))
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED));
+
+        mockMvc.perform(post("/reservations").header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value("r1"))
+                .andExpect(header().string(IdempotencyFilter.REPLAYED, "true"));
+
+        verify(reservationService, times(1)).createReservation(any(Reservation.class));
+    }
+
+    @Test
+    void shouldRunEveryRequestWithoutAKey() throws Exception {
+        mockMvc.perform(post("/reservations").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/reservations").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated());
+
+        verify(reservationService, times(2)).createReservation(any(Reservation.class));
+    }
+
+    @Test
+    void shouldRejectAKeyReusedWithADifferentBody() throws Exception {
+        mockMvc.perform(post("/reservations").header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/reservations").header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY.replace("10:00", "14:00")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error").value("The Idempotency-Key was already used with a different request"));
+
+        verify(reservationService, times(1)).createReservation(any(Reservation.class));
+    }
+
+    @Test
+    void shouldAnswerConflictWhileTheFirstRequestIsInProgress() throws Exception {
+        store.claim(IdempotencyFilter.storeKey("POST", "/reservations", "key-1"),
+                IdempotencyFilter.fingerprint(BODY.getBytes()));
+
+        mockMvc.perform(post("/reservations").header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("A request with this Idempotency-Key is still in progress"));
+
+        verify(reservationService, times(0)).createReservation(any(Reservation.class));
+    }
+
+    @Test
+    void shouldRejectAnOverlongKey() throws Exception {
+        mockMvc.perform(post("/reservations").header(IdempotencyFilter.IDEMPOTENCY_KEY, "k".repeat(256))
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isBadRequest());
+
+        verify(reservationService, times(0)).createReservation(any(Reservation.class));
+    }
+
+    @Test
+    void shouldRejectAnOversizedBodyWithoutClaimingTheKey() throws Exception {
+        String oversized = BODY.replace("Project research", "x".repeat(MAX_BODY_SIZE));
+
+        mockMvc.perform(post("/reservations").header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(oversized))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.error").value("The request body is too large"));
+
+        verify(reservationService, times(0)).createReservation(any(Reservation.class));
+        mockMvc.perform(post("/reservations").header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void shouldServeTheCachedBodyToAReadListener() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/reservations");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        new IdempotencyFilter(store, Set.of("/reservations"), MAX_BODY_SIZE)
+                .doFilter(request, new MockHttpServletResponse(), chain);
+
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allRead = new boolean[1];
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(input.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable error) {
+            }
+        });
+
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+        assertTrue(allRead[0]);
+    }
+
+    @Test
+    void shouldReleaseTheKeyWhenTheRequestFails() throws Exception {
+        when(reservationService.createReservation(any(Reservation.class)))
+                .thenThrow(new IllegalStateException("MongoDB is down"))
+                .thenReturn(new Reservation("user123", "lab01", "2030-05-01", "10:00", "12:00", "Project research"));
+
+        try {
+            mockMvc.perform(post("/reservations").header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                    .contentType(MediaType.APPLICATION_JSON).content(BODY));
+        } catch (Exception expected) {
+            // the standalone setup has no error handling, so the failure reaches the test
+        }
+        mockMvc.perform(post("/reservations").header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED));
+
+        verify(reservationService, times(2)).createReservation(any(Reservation.class));
+    }
+
+    @Test
+    void shouldReplayASignUpInsteadOfCreatingTheUserTwice() throws Exception {
+        when(authService.authenticateSignUp(any(User.class))).thenReturn(new User("u1", "Ana", "ana@mail.com", "hash"));
+        String signUp = "{\"name\":\"Ana\",\"email\":\"ana@mail.com\",\"password\":\"Password1!\"}";
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/auth/signup").header(IdempotencyFilter.IDEMPOTENCY_KEY, "signup-1")
+                            .contentType(MediaType.APPLICATION_JSON).content(signUp))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.email").value("ana@mail.com"));
+        }
+
+        verify(authService, times(1)).authenticateSignUp(any(User.class));
+    }
+}
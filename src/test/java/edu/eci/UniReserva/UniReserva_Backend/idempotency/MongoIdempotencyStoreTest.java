@@ -0,0 +1,126 @@
+package edu.eci.UniReserva.UniReserva_Backend.idempotency;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MongoIdempotencyStoreTest {
+
+    private MongoTemplate mongoTemplate;
+    private IndexOperations indexOperations;
+    private MongoIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = Mockito.mock(MongoTemplate.class);
+        indexOperations = Mockito.mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(MongoIdempotencyStore.COLLECTION)).thenReturn(indexOperations);
+        store = new MongoIdempotencyStore(mongoTemplate, Duration.ofHours(24), Duration.ofMinutes(2));
+    }
+
+    @Test
+    void shouldExpireRecordsWithATtlIndex() {
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations).ensureIndex(index.capture());
+
+        assertEquals(new Document("createdAt", 1), index.getValue().getIndexKeys());
+        assertEquals(86400L, index.getValue().getIndexOptions().get("expireAfterSeconds"));
+    }
+
+    @Test
+    void shouldClaimAFreeKeyByInsertingIt() {
+        assertTrue(store.claim("POST /reservations k1", "fp").isEmpty());
+
+        verify(mongoTemplate).insert(any(Document.class), eq(MongoIdempotencyStore.COLLECTION));
+    }
+
+    @Test
+    void shouldReturnTheStoredResponseOfATakenKey() {
+        when(mongoTemplate.insert(any(Document.class), eq(MongoIdempotencyStore.COLLECTION)))
+                .thenThrow(new DuplicateKeyException("E11000"));
+        when(mongoTemplate.findById("POST /reservations k1", Document.class, MongoIdempotencyStore.COLLECTION))
+                .thenReturn(new Document("_id", "POST /reservations k1")
+                        .append("fingerprint", "fp")
+                        .append("status", 201)
+                        .append("contentType", "application/json")
+                        .append("body", new Binary("{}".getBytes())));
+
+        Optional<IdempotencyRecord> stored = store.claim("POST /reservations k1", "fp");
+
+        assertTrue(stored.isPresent());
+        assertEquals(201, stored.get().status());
+        assertEquals("application/json", stored.get().contentType());
+        assertArrayEquals("{}".getBytes(), stored.get().body());
+    }
+
+    @Test
+    void shouldTakeOverAClaimWhoseLeaseHasExpired() {
+        when(mongoTemplate.insert(any(Document.class), eq(MongoIdempotencyStore.COLLECTION)))
+                .thenThrow(new DuplicateKeyException("E11000"));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(Document.class),
+                eq(MongoIdempotencyStore.COLLECTION)))
+                .thenReturn(new Document("_id", "POST /reservations k1").append("fingerprint", "fp"));
+
+        assertTrue(store.claim("POST /reservations k1", "fp").isEmpty());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), eq(Document.class),
+                eq(MongoIdempotencyStore.COLLECTION));
+        Document criteria = query.getValue().getQueryObject();
+        assertEquals("POST /reservations k1", criteria.get("_id"));
+        assertEquals(new Document("$exists", false), criteria.get("status"));
+        Date expiredBefore = criteria.get("claimedAt", Document.class).get("$lt", Date.class);
+        Date claimedAt = update.getValue().getUpdateObject().get("$set", Document.class).get("claimedAt", Date.class);
+        assertEquals(Duration.ofMinutes(2), Duration.between(expiredBefore.toInstant(), claimedAt.toInstant()));
+        verify(mongoTemplate, never()).findById(any(), eq(Document.class), eq(MongoIdempotencyStore.COLLECTION));
+    }
+
+    @Test
+    void shouldKeepAClaimInProgressWithinItsLease() {
+        when(mongoTemplate.insert(any(Document.class), eq(MongoIdempotencyStore.COLLECTION)))
+                .thenThrow(new DuplicateKeyException("E11000"));
+        when(mongoTemplate.findById("POST /reservations k1", Document.class, MongoIdempotencyStore.COLLECTION))
+                .thenReturn(new Document("_id", "POST /reservations k1")
+                        .append("fingerprint", "fp")
+                        .append("claimedAt", new Date()));
+
+        Optional<IdempotencyRecord> stored = store.claim("POST /reservations k1", "fp");
+
+        assertTrue(stored.isPresent());
+        assertFalse(stored.get().isCompleted());
+    }
+
+    @Test
+    void shouldReleaseOnlyKeysThatHaveNotCompleted() {
+        store.release("POST /reservations k1");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(query.capture(), eq(MongoIdempotencyStore.COLLECTION));
+        assertEquals(new Document("_id", "POST /reservations k1").append("status", new Document("$exists", false)),
+                query.getValue().getQueryObject());
+    }
+}
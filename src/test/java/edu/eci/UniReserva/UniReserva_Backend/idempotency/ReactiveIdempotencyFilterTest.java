@@ -0,0 +1,124 @@
+package edu.eci.UniReserva.UniReserva_Backend.idempotency;
+
+import edu.eci.UniReserva.UniReserva_Backend.controller.ReactiveReservationController;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.service.ReactiveReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReactiveIdempotencyFilterTest {
+    private static final String BODY = "{\"userId\":\"user123\",\"labId\":\"lab01\",\"date\":\"2030-05-01\","
+            + "\"startTime\":\"10:00\",\"endTime\":\"12:00\",\"purpose\":\"Project research\"}";
+    private static final int MAX_BODY_SIZE = 1024;
+
+    private ReactiveReservationService reservationService;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = Mockito.mock(ReactiveReservationService.class);
+        webTestClient = WebTestClient.bindToController(new ReactiveReservationController(reservationService))
+                .webFilter(new ReactiveIdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofMinutes(5), 100),
+                        Set.of("/reservations"), MAX_BODY_SIZE))
+                .build();
+
+        Reservation created = new Reservation("user123", "lab01", "2030-05-01", "10:00", "12:00", "Project research");
+        created.setId("r1");
+        when(reservationService.createReservation(any(Reservation.class))).thenReturn(Mono.just(created));
+    }
+
+    @Test
+    void shouldReplayTheStoredResponseWithoutBookingAgain() {
+        webTestClient.post().uri("/reservations")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BODY)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().doesNotExist(IdempotencyFilter.REPLAYED)
+                .expectBody().jsonPath("$.id").isEqualTo("r1");
+
+        webTestClient.post().uri("/reservations")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BODY)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(IdempotencyFilter.REPLAYED, "true")
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.id").isEqualTo("r1");
+
+        verify(reservationService, times(1)).createReservation(any(Reservation.class));
+    }
+
+    @Test
+    void shouldRejectAKeyReusedWithADifferentBody() {
+        webTestClient.post().uri("/reservations")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BODY)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.post().uri("/reservations")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BODY.replace("10:00", "14:00"))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody().jsonPath("$.error").isEqualTo("The Idempotency-Key was already used with a different request");
+
+        verify(reservationService, times(1)).createReservation(any(Reservation.class));
+    }
+
+    @Test
+    void shouldRejectAnOversizedBody() {
+        webTestClient.post().uri("/reservations")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BODY.replace("Project research", "x".repeat(MAX_BODY_SIZE)))
+                .exchange()
+                .expectStatus().isEqualTo(413)
+                .expectBody().jsonPath("$.error").isEqualTo("The request body is too large");
+
+        verify(reservationService, times(0)).createReservation(any(Reservation.class));
+    }
+
+    @Test
+    void shouldRejectAnOversizedBodySentWithoutALength() {
+        webTestClient.post().uri("/reservations")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.just(BODY, "x".repeat(MAX_BODY_SIZE)), String.class)
+                .exchange()
+                .expectStatus().isEqualTo(413);
+
+        verify(reservationService, times(0)).createReservation(any(Reservation.class));
+    }
+
+    @Test
+    void shouldRunEveryRequestWithoutAKey() {
+        for (int i = 0; i < 2; i++) {
+            webTestClient.post().uri("/reservations")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(BODY)
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+
+        verify(reservationService, times(2)).createReservation(any(Reservation.class));
+    }
+}
@@ -0,0 +1,127 @@
+package edu.eci.UniReserva.UniReserva_Backend.migration;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class MongoIndexBootstrapperTest {
+    private static final Set<String> DECLARED_INDEXES = Set.of("lab_day_idx", "user_day_idx", "status_day_idx",
+            "links_pending_idx", User.EMAIL_INDEX);
+
+    private MongoTemplate mongoTemplate;
+    private IndexOperations indexOps;
+    private TaskScheduler taskScheduler;
+    private MongoIndexBootstrapper bootstrapper;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setInitialEntitySet(Set.of(User.class, Lab.class, Reservation.class, UserSummary.class));
+        mappingContext.afterPropertiesSet();
+
+        mongoTemplate = Mockito.mock(MongoTemplate.class);
+        indexOps = Mockito.mock(IndexOperations.class);
+        taskScheduler = Mockito.mock(TaskScheduler.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+        bootstrapper = new MongoIndexBootstrapper(mongoTemplate, mappingContext, taskScheduler, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldEnsureEveryDeclaredIndex() {
+        int ensured = bootstrapper.ensureIndexes();
+
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, atLeastOnce()).ensureIndex(indexes.capture());
+        assertEquals(DECLARED_INDEXES, indexes.getAllValues().stream()
+                .map(index -> index.getIndexOptions().getString("name"))
+                .collect(Collectors.toSet()));
+        assertEquals(DECLARED_INDEXES.size(), ensured);
+    }
+
+    @Test
+    void shouldSkipAnIndexThatCannotBeBuiltAndEnsureTheOthers() {
+        doThrow(new UncategorizedMongoDbException("Index already exists with different options", null))
+                .when(indexOps).ensureIndex(named("lab_day_idx"));
+
+        int ensured = bootstrapper.ensureIndexes();
+
+        assertEquals(DECLARED_INDEXES.size() - 1, ensured);
+    }
+
+    @Test
+    void shouldBuildOnlyTheUniqueIndexesBeforeStartupCompletes() {
+        bootstrapper.afterSingletonsInstantiated();
+
+        verify(indexOps).ensureIndex(named(User.EMAIL_INDEX));
+        verifyNoMoreInteractions(indexOps);
+    }
+
+    @Test
+    void shouldFailStartupWhenAUniqueIndexCannotBeBuilt() {
+        doThrow(new DuplicateKeyException("E11000 duplicate key error collection: users index: email_unique_idx"))
+                .when(indexOps).ensureIndex(named(User.EMAIL_INDEX));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> bootstrapper.afterSingletonsInstantiated());
+        assertTrue(error.getMessage().contains(User.EMAIL_INDEX));
+    }
+
+    @Test
+    void shouldFailStartupWhenMongoIsUnreachableForTheUniqueIndexes() {
+        when(indexOps.ensureIndex(any())).thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        assertThrows(IllegalStateException.class, () -> bootstrapper.afterSingletonsInstantiated());
+    }
+
+    @Test
+    void shouldRetryWhenMongoIsUnreachable() {
+        when(indexOps.ensureIndex(any())).thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        bootstrapper.run();
+
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        verify(indexOps, never()).ensureIndex(named(User.EMAIL_INDEX));
+    }
+
+    @Test
+    void shouldRunInTheBackgroundOnceTheApplicationIsReady() {
+        bootstrapper.start();
+
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        Mockito.verifyNoInteractions(mongoTemplate);
+    }
+
+    private static IndexDefinition named(String name) {
+        return argThat(index -> name.equals(index.getIndexOptions().get("name")));
+    }
+}
@@ -0,0 +1,219 @@
+package edu.eci.UniReserva.UniReserva_Backend.repository;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import edu.eci.UniReserva.UniReserva_Backend.migration.MongoIndexBootstrapper;
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.ReservationCursor;
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every repository query is served by an index once the {@link MongoIndexBootstrapper}
+ * has run. Each query is executed through its repository while the find commands sent to the
+ * server are recorded; every recorded command is then explained, and the test fails if a winning
+ * plan contains a {@code COLLSCAN} stage, or a {@code SORT} stage, which means the results are
+ * sorted in memory instead of being read in index order.
+ *
+ * The reactive repositories declare the same queries as the blocking ones, so they are covered
+ * too. {@code LabRepository.findAllWithoutReservations} reads the whole lab catalog on purpose
+ * and is left out.
+ *
+ * Point {@code MONGO_URI} at any MongoDB server to run it, for example:
+ *
+ * <pre>
+ * docker run -d -p 27017:27017 mongo:7
+ * MONGO_URI=mongodb://localhost:27017 mvn test -Dtest=QueryPlanTest
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "MONGO_URI", matches = ".+")
+public class QueryPlanTest {
+    private static final Set<String> RECORDED_COMMANDS = Set.of("find", "aggregate", "count", "distinct");
+    private static final List<String> REJECTED_STAGES = List.of("COLLSCAN", "SORT");
+
+    private final List<CommandStartedEvent> commands = new CopyOnWriteArrayList<>();
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private ReservationRepository reservationRepository;
+    private UserRepository userRepository;
+    private LabRepository labRepository;
+    private int epochDay;
+
+    @BeforeEach
+    void setUp() {
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(System.getenv("MONGO_URI")))
+                .addCommandListener(new CommandListener() {
+                    @Override
+                    public void commandStarted(CommandStartedEvent event) {
+                        if (RECORDED_COMMANDS.contains(event.getCommandName())) {
+                            commands.add(event);
+                        }
+                    }
+                })
+                .build();
+        client = MongoClients.create(settings);
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setInitialEntitySet(Set.of(User.class, Lab.class, Reservation.class));
+        mappingContext.afterPropertiesSet();
+        SimpleMongoClientDatabaseFactory databaseFactory =
+                new SimpleMongoClientDatabaseFactory(client, "unireserva_plans_" + System.nanoTime());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        mongoTemplate = new MongoTemplate(databaseFactory, converter);
+
+        new MongoIndexBootstrapper(mongoTemplate, mappingContext, Mockito.mock(TaskScheduler.class), Duration.ZERO)
+                .ensureIndexes();
+
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+        reservationRepository = factory.getRepository(ReservationRepository.class,
+                RepositoryFragments.just(new ReservationRepositoryCustomImpl(mongoTemplate)));
+        userRepository = factory.getRepository(UserRepository.class,
+                RepositoryFragments.just(new UserRepositoryCustomImpl(mongoTemplate)));
+        labRepository = factory.getRepository(LabRepository.class,
+                RepositoryFragments.just(new LabRepositoryCustomImpl(mongoTemplate)));
+
+        epochDay = (int) LocalDate.now().plusDays(1).toEpochDay();
+        seed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    @Test
+    void shouldServeEveryRepositoryQueryFromAnIndex() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("ReservationRepository.findById", () -> reservationRepository.findById("r1"));
+        queries.put("ReservationRepository.findByUserId", () -> reservationRepository.findByUserId("user1"));
+        queries.put("ReservationRepository.existsByUserId", () -> reservationRepository.existsByUserId("user1"));
+        queries.put("ReservationRepository.findByUserIdOrderByEpochDayAscStartMinuteAsc",
+                () -> reservationRepository.findByUserIdOrderByEpochDayAscStartMinuteAsc("user1"));
+        queries.put("ReservationRepository.streamByUserIdOrderByEpochDayAscStartMinuteAsc",
+                () -> reservationRepository.streamByUserIdOrderByEpochDayAscStartMinuteAsc("user1").close());
+        queries.put("ReservationRepository.findByLabId", () -> reservationRepository.findByLabId("lab01"));
+        queries.put("ReservationRepository.findByLabIdAndEpochDay",
+                () -> reservationRepository.findByLabIdAndEpochDay("lab01", epochDay));
+        queries.put("ReservationRepository.findByLabIdAndEpochDayIn",
+                () -> reservationRepository.findByLabIdAndEpochDayIn("lab01", List.of(epochDay, epochDay + 3)));
+        queries.put("ReservationRepository.findByLabIdInAndEpochDay",
+                () -> reservationRepository.findByLabIdInAndEpochDay(List.of("lab01", "lab02"), epochDay));
+        queries.put("ReservationRepository.findByStatusAndEpochDayGreaterThanEqual",
+                () -> reservationRepository.findByStatusAndEpochDayGreaterThanEqual(ReservationStatus.CONFIRMED, epochDay));
+        queries.put("ReservationRepository.findByLabIdAndEpochDayBetween",
+                () -> reservationRepository.findByLabIdAndEpochDayBetween("lab01", epochDay, epochDay + 7));
+        queries.put("ReservationRepository.streamByLabIdAndEpochDayBetween",
+                () -> reservationRepository.streamByLabIdAndEpochDayBetween("lab01", epochDay, epochDay + 7).close());
+        queries.put("ReservationRepository.findUserPage",
+                () -> reservationRepository.findUserPage("user1", null, 10));
+        queries.put("ReservationRepository.findUserPage after a cursor", () -> reservationRepository.findUserPage(
+                "user1", new ReservationCursor(epochDay, 480, "r1"), 10));
+        queries.put("ReservationRepository.findLabPage",
+                () -> reservationRepository.findLabPage("lab01", epochDay, epochDay + 7, null, 10));
+        queries.put("ReservationRepository.findLabPage after a cursor", () -> reservationRepository.findLabPage(
+                "lab01", epochDay, epochDay + 7, new ReservationCursor(epochDay, 480, "r1"), 10));
+        queries.put("UserRepository.findById", () -> userRepository.findById("user1"));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("user1@mail.escuelaing.edu.co"));
+        queries.put("UserRepository.findSummaryById", () -> userRepository.findSummaryById("user1"));
+        queries.put("LabRepository.findById", () -> labRepository.findById("lab01"));
+
+        List<String> problems = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            commands.clear();
+            query.run();
+            assertFalse(commands.isEmpty(), name + " sent no query to the server");
+            for (CommandStartedEvent command : commands) {
+                BsonDocument plan = explain(command).getDocument("queryPlanner").getDocument("winningPlan");
+                for (String stage : REJECTED_STAGES) {
+                    if (containsStage(plan, stage)) {
+                        problems.add(name + " plans a " + stage + " stage: " + command.getCommand().toJson());
+                    }
+                }
+            }
+        });
+
+        assertTrue(problems.isEmpty(), String.join("\n", problems));
+    }
+
+    private void seed() {
+        for (int i = 1; i <= 20; i++) {
+            User user = new User("user" + i, "User " + i, "user" + i + "@mail.escuelaing.edu.co", "hash");
+            mongoTemplate.insert(user);
+
+            Lab lab = new Lab();
+            ReflectionTestUtils.setField(lab, "id", String.format("lab%02d", i));
+            lab.setName("Lab " + i);
+            mongoTemplate.insert(lab);
+
+            Reservation reservation = new Reservation("user" + (i % 5 + 1), String.format("lab%02d", i % 3 + 1),
+                    LocalDate.ofEpochDay(epochDay + i % 7).toString(), String.format("%02d:00", 8 + i % 8),
+                    String.format("%02d:00", 9 + i % 8), "Class");
+            reservation.setId("r" + i);
+            reservation.resolveTypedFields();
+            mongoTemplate.insert(reservation);
+        }
+    }
+
+    private BsonDocument explain(CommandStartedEvent event) {
+        BsonDocument command = new BsonDocument();
+        for (Map.Entry<String, BsonValue> field : event.getCommand().entrySet()) {
+            String key = field.getKey();
+            if (!key.startsWith("$") && !key.equals("lsid") && !key.equals("txnNumber")) {
+                command.put(key, field.getValue());
+            }
+        }
+        BsonDocument explain = new BsonDocument("explain", command).append("verbosity", new BsonString("queryPlanner"));
+        return client.getDatabase(event.getDatabaseName()).runCommand(explain, BsonDocument.class);
+    }
+
+    private static boolean containsStage(BsonValue plan, String stage) {
+        if (plan.isDocument()) {
+            BsonDocument document = plan.asDocument();
+            if (document.containsKey("stage") && stage.equals(document.getString("stage").getValue())) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (plan.isArray()) {
+            return plan.asArray().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
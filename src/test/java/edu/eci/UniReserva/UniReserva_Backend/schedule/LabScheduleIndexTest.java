@@ -0,0 +1,251 @@
+package edu.eci.UniReserva.UniReserva_Backend.schedule;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LabScheduleIndexTest {
+
+    private ReservationRepository reservationRepository;
+    private LabScheduleIndex labScheduleIndex;
+    private String date;
+    private int epochDay;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = Mockito.mock(ReservationRepository.class);
+        labScheduleIndex = new LabScheduleIndex(reservationRepository);
+        date = LocalDate.now().plusDays(3).toString();
+        epochDay = (int) LocalDate.now().plusDays(3).toEpochDay();
+    }
+
+    @Test
+    void shouldDetectOverlapsAndAllowAdjacentSlots() {
+        when(reservationRepository.findByLabIdAndEpochDay("lab01", epochDay))
+                .thenReturn(List.of(reservation("r1", "lab01", "10:00", "12:00"),
+                        reservation("r2", "lab01", "14:00", "15:30")));
+
+        assertFalse(labScheduleIndex.isAvailable(reservation(null, "lab01", "11:00", "13:00")));
+        assertFalse(labScheduleIndex.isAvailable(reservation(null, "lab01", "09:00", "16:00")));
+        assertFalse(labScheduleIndex.isAvailable(reservation(null, "lab01", "15:00", "15:15")));
+        assertTrue(labScheduleIndex.isAvailable(reservation(null, "lab01", "08:00", "10:00")));
+        assertTrue(labScheduleIndex.isAvailable(reservation(null, "lab01", "12:00", "14:00")));
+        assertTrue(labScheduleIndex.isAvailable(reservation(null, "lab01", "15:30", "17:00")));
+    }
+
+    @Test
+    void shouldDetectOverlapHiddenBehindALongerEarlierReservation() {
+        when(reservationRepository.findByLabIdAndEpochDay("lab01", epochDay))
+                .thenReturn(List.of(reservation("r1", "lab01", "08:00", "18:00"),
+                        reservation("r2", "lab01", "09:00", "10:00")));
+
+        assertFalse(labScheduleIndex.isAvailable(reservation(null, "lab01", "12:00", "13:00")));
+    }
+
+    @Test
+    void shouldIgnoreCanceledReservations() {
+        Reservation canceled = reservation("r1", "lab01", "10:00", "12:00");
+        canceled.setStatus(ReservationStatus.CANCELED);
+        when(reservationRepository.findByLabIdAndEpochDay("lab01", epochDay)).thenReturn(List.of(canceled));
+
+        assertTrue(labScheduleIndex.isAvailable(reservation(null, "lab01", "10:00", "12:00")));
+    }
+
+    @Test
+    void shouldTrackAddedAndRemovedReservations() {
+        when(reservationRepository.findByLabIdAndEpochDay("lab01", epochDay)).thenReturn(Collections.emptyList());
+        Reservation booked = reservation("r1", "lab01", "10:00", "12:00");
+
+        labScheduleIndex.add(booked);
+        assertFalse(labScheduleIndex.isAvailable(reservation(null, "lab01", "11:00", "11:30")));
+
+        labScheduleIndex.remove(booked);
+        assertTrue(labScheduleIndex.isAvailable(reservation(null, "lab01", "11:00", "11:30")));
+
+        verify(reservationRepository, times(1)).findByLabIdAndEpochDay("lab01", epochDay);
+    }
+
+    @Test
+    void shouldServeWarmedDaysWithoutQueryingTheDatabase() {
+        when(reservationRepository.findByStatusAndEpochDayGreaterThanEqual(eq(ReservationStatus.CONFIRMED), anyInt()))
+                .thenReturn(List.of(reservation("r1", "lab01", "10:00", "12:00")));
+
+        labScheduleIndex.warmUp();
+
+        assertFalse(labScheduleIndex.isAvailable(reservation(null, "lab01", "10:30", "11:00")));
+        verify(reservationRepository, never()).findByLabIdAndEpochDay(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldClaimAFreeSlotOnlyOnceWithoutQueryingTheDatabase() {
+        assertFalse(labScheduleIndex.isLoaded("lab01", epochDay));
+        labScheduleIndex.load("lab01", epochDay, List.of(reservation("r1", "lab01", "10:00", "12:00")),
+                labScheduleIndex.changeSequence());
+        assertTrue(labScheduleIndex.isLoaded("lab01", epochDay));
+
+        assertFalse(labScheduleIndex.tryAdd(reservation("r2", "lab01", "11:00", "13:00")));
+        assertTrue(labScheduleIndex.tryAdd(reservation("r3", "lab01", "12:00", "13:00")));
+        assertFalse(labScheduleIndex.tryAdd(reservation("r4", "lab01", "12:30", "14:00")));
+        assertThrows(IllegalStateException.class,
+                () -> labScheduleIndex.tryAdd(reservation("r5", "lab02", "12:00", "13:00")));
+        verify(reservationRepository, never()).findByLabIdAndEpochDay(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldKeepTheOccupancyBitmapInStepWithBookingsAndCancellations() {
+        labScheduleIndex.load("lab01", epochDay, List.of(reservation("r1", "lab01", "10:00", "10:20")),
+                labScheduleIndex.changeSequence());
+        when(reservationRepository.findByLabIdAndEpochDayBetween("lab01", epochDay + 1, epochDay + 1))
+                .thenReturn(List.of());
+        Reservation sharingASlot = reservation("r2", "lab01", "10:20", "11:00");
+
+        List<Occupancy> days = labScheduleIndex.occupancy("lab01", epochDay, epochDay + 1);
+        assertEquals(new Occupancy(3L << 40, 0L), days.get(0));
+        assertTrue(days.get(1).isEmpty());
+
+        labScheduleIndex.add(sharingASlot);
+        labScheduleIndex.add(reservation("r3", "lab01", "22:00", "23:59"));
+        Occupancy updated = labScheduleIndex.occupancy("lab01", epochDay, epochDay).get(0);
+        assertEquals(0xFL << 40, updated.early());
+        assertEquals(0xFFL << 24, updated.late());
+        assertTrue(updated.isBusy(95));
+
+        labScheduleIndex.remove(sharingASlot);
+        assertEquals(3L << 40, labScheduleIndex.occupancy("lab01", epochDay, epochDay).get(0).early());
+        verify(reservationRepository, times(1)).findByLabIdAndEpochDayBetween(anyString(), anyInt(), anyInt());
+        verify(reservationRepository, never()).findByLabIdAndEpochDay(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldNotIndexTheDaysReadOnlyToAnswerAQuery() {
+        when(reservationRepository.findByLabIdAndEpochDayBetween("lab01", epochDay, epochDay + 30))
+                .thenReturn(List.of(reservation("r1", "lab01", "10:00", "12:00")));
+
+        assertFalse(labScheduleIndex.occupancy("lab01", epochDay, epochDay + 30).get(0).isEmpty());
+        assertTrue(labScheduleIndex.isFree("lab01", epochDay + 400, 600, 720));
+        assertEquals(List.of("lab01", "made-up"),
+                labScheduleIndex.freeLabs(List.of("lab01", "made-up"), epochDay + 400, 600, 720));
+
+        for (int day = epochDay; day <= epochDay + 30; day++) {
+            assertFalse(labScheduleIndex.isLoaded("lab01", day));
+        }
+        assertFalse(labScheduleIndex.isLoaded("lab01", epochDay + 400));
+        assertFalse(labScheduleIndex.isLoaded("made-up", epochDay + 400));
+    }
+
+    @Test
+    void shouldLoadOnlyTheRequestedDaysHoweverFarApart() {
+        int farDay = (int) LocalDate.of(2999, 12, 31).toEpochDay();
+        when(reservationRepository.findByLabIdAndEpochDayIn("lab01", Set.of(epochDay, farDay)))
+                .thenReturn(List.of(reservation("r1", "lab01", "10:00", "12:00")));
+
+        labScheduleIndex.preloadDays("lab01", List.of(farDay, epochDay, farDay));
+        labScheduleIndex.preloadDays("lab01", List.of(epochDay, farDay));
+
+        assertTrue(labScheduleIndex.isLoaded("lab01", epochDay));
+        assertTrue(labScheduleIndex.isLoaded("lab01", farDay));
+        assertFalse(labScheduleIndex.isLoaded("lab01", epochDay + 1));
+        assertFalse(labScheduleIndex.isAvailable(reservation(null, "lab01", "11:00", "13:00")));
+        verify(reservationRepository, times(1)).findByLabIdAndEpochDayIn(anyString(), anyCollection());
+        verify(reservationRepository, never()).findByLabIdAndEpochDayBetween(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldFindFreeLabsWithOneQueryForTheMissingDays() {
+        labScheduleIndex.load("lab01", epochDay, List.of(reservation("r1", "lab01", "09:00", "10:05")),
+                labScheduleIndex.changeSequence());
+        when(reservationRepository.findByLabIdInAndEpochDay(List.of("lab02", "lab03"), epochDay))
+                .thenReturn(List.of(reservation("r2", "lab02", "11:00", "12:00")));
+
+        assertEquals(List.of("lab03"),
+                labScheduleIndex.freeLabs(List.of("lab01", "lab02", "lab03"), epochDay, 600, 720));
+        assertEquals(List.of("lab01", "lab03"),
+                labScheduleIndex.freeLabs(List.of("lab01", "lab02", "lab03"), epochDay, 605, 675));
+        assertEquals(List.of("lab01", "lab02", "lab03"),
+                labScheduleIndex.freeLabs(List.of("lab01", "lab02", "lab03"), epochDay, 720, 780));
+
+        verify(reservationRepository, times(3)).findByLabIdInAndEpochDay(List.of("lab02", "lab03"), epochDay);
+        verify(reservationRepository, never()).findByLabIdAndEpochDay(anyString(), anyInt());
+        assertFalse(labScheduleIndex.isLoaded("lab02", epochDay));
+    }
+
+    @Test
+    void shouldReplayTheChangesMadeWhileADayIsBeingRead() {
+        Reservation stale = reservation("r1", "lab01", "10:00", "12:00");
+        when(reservationRepository.findByLabIdAndEpochDay("lab01", epochDay)).thenAnswer(invocation -> {
+            labScheduleIndex.patch(reservation("r2", "lab01", "14:00", "15:00"));
+            labScheduleIndex.remove(stale);
+            return List.of(stale);
+        });
+
+        assertTrue(labScheduleIndex.isAvailable(reservation(null, "lab01", "10:00", "12:00")));
+        assertFalse(labScheduleIndex.isAvailable(reservation(null, "lab01", "14:30", "15:30")));
+        verify(reservationRepository, times(1)).findByLabIdAndEpochDay("lab01", epochDay);
+    }
+
+    @Test
+    void shouldReplayADeletionMadeWhileWarmingUp() {
+        when(reservationRepository.findByStatusAndEpochDayGreaterThanEqual(eq(ReservationStatus.CONFIRMED), anyInt()))
+                .thenAnswer(invocation -> {
+                    labScheduleIndex.removeById("r1");
+                    return List.of(reservation("r1", "lab01", "10:00", "12:00"));
+                });
+
+        labScheduleIndex.warmUp();
+
+        assertTrue(labScheduleIndex.isFree("lab01", epochDay, 10 * 60, 12 * 60));
+    }
+
+    @Test
+    void shouldReadTheDayAgainWhenTheIndexIsClearedDuringTheLoad() {
+        when(reservationRepository.findByLabIdAndEpochDayIn(eq("lab01"), anyCollection()))
+                .thenAnswer(invocation -> {
+                    labScheduleIndex.clear();
+                    return List.of(reservation("r1", "lab01", "10:00", "12:00"));
+                })
+                .thenReturn(List.of());
+
+        labScheduleIndex.preloadDays("lab01", List.of(epochDay));
+
+        assertTrue(labScheduleIndex.isFree("lab01", epochDay, 10 * 60, 12 * 60));
+        verify(reservationRepository, times(2)).findByLabIdAndEpochDayIn(eq("lab01"), anyCollection());
+    }
+
+    @Test
+    void shouldRefuseADayReadBeforeTheIndexWasCleared() {
+        long since = labScheduleIndex.changeSequence();
+        labScheduleIndex.clear();
+
+        assertFalse(labScheduleIndex.load("lab01", epochDay, List.of(), since));
+        assertFalse(labScheduleIndex.isLoaded("lab01", epochDay));
+        assertTrue(labScheduleIndex.load("lab01", epochDay, List.of(), labScheduleIndex.changeSequence()));
+    }
+
+    private Reservation reservation(String id, String labId, String startTime, String endTime) {
+        Reservation reservation = new Reservation("user123", labId, date, startTime, endTime, "Study");
+        reservation.setId(id);
+        return reservation;
+    }
+}
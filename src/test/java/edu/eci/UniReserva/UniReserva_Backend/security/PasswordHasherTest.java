@@ -0,0 +1,97 @@
+package edu.eci.UniReserva.UniReserva_Backend.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PasswordHasherTest {
+
+    private ThreadPoolExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldAcceptLegacyPlainTextPasswordsAndAskForARehash() {
+        PasswordHasher hasher = new PasswordHasher(4, Duration.ofMinutes(5), 100, Runnable::run);
+
+        assertTrue(hasher.matches("Password#123", "Password#123"));
+        assertFalse(hasher.matches("Password#124", "Password#123"));
+        assertFalse(hasher.matches("Password#123", null));
+        assertTrue(hasher.needsRehash("Password#123"));
+    }
+
+    @Test
+    void shouldNotMatchAHashWithAPasswordLongerThanBcryptReads() {
+        PasswordHasher hasher = new PasswordHasher(4, Duration.ofMinutes(5), 100, Runnable::run);
+        String prefix = "Password#1" + "x".repeat(PasswordPolicy.MAX_BYTES - 10);
+        String hash = hasher.hash(prefix);
+
+        assertTrue(hasher.matches(prefix, hash));
+        assertFalse(hasher.matches(prefix + "anything", hash));
+        assertThrows(IllegalArgumentException.class, () -> hasher.hash(prefix + "x"));
+    }
+
+    @Test
+    void shouldAskForARehashOnlyWhenTheCostWasRaised() {
+        PasswordHasher cheap = new PasswordHasher(4, Duration.ofMinutes(5), 100, Runnable::run);
+        PasswordHasher costly = new PasswordHasher(5, Duration.ofMinutes(5), 100, Runnable::run);
+        String hash = cheap.hash("Password#123");
+
+        assertFalse(cheap.needsRehash(hash));
+        assertTrue(costly.needsRehash(hash));
+        assertFalse(cheap.needsRehash(costly.hash("Password#123")));
+        assertTrue(costly.matches("Password#123", hash));
+    }
+
+    @Test
+    void shouldSkipBcryptForRecentlyVerifiedCredentials() {
+        AtomicInteger tasks = new AtomicInteger();
+        PasswordHasher hasher = new PasswordHasher(4, Duration.ofMinutes(5), 100, task -> {
+            tasks.incrementAndGet();
+            task.run();
+        });
+        String hash = hasher.hash("Password#123");
+
+        assertTrue(hasher.matches("Password#123", hash));
+        assertTrue(hasher.matches("Password#123", hash));
+        assertFalse(hasher.matches("Password#124", hash));
+        assertFalse(hasher.matches("Password#124", hash));
+
+        assertEquals(4, tasks.get());
+    }
+
+    @Test
+    void shouldRejectHashingWhenTheExecutorIsSaturated() throws InterruptedException {
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> { });
+        PasswordHasher hasher = new PasswordHasher(4, Duration.ofMinutes(5), 100, executor);
+
+        assertThrows(RejectedExecutionException.class, () -> hasher.hash("Password#123"));
+        release.countDown();
+    }
+}
@@ -0,0 +1,50 @@
+package edu.eci.UniReserva.UniReserva_Backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PasswordPolicyTest {
+    private static final Pattern FORMER_RULE = Pattern.compile("^(?=.*[A-Z])(?=.*\\d)(?=.*[^A-Za-z0-9]).{8,}$");
+
+    @Test
+    void shouldAcceptExactlyWhatTheFormerRegexAccepted() {
+        PasswordPolicy policy = new PasswordPolicy(8, true, true, true);
+        List<String> passwords = List.of(
+                "Password#123", "Secure#2024", "123", "password#123", "PASSWORD#123", "Password123",
+                "Pass#12", "Pass#123", "Contraseña1", "CONTRASEÑA1", "Pass word1", "Pass#123\n",
+                "\nPass#123", "Pass#\r123", "Pass# 123", "Ab1😀xxx", "Ab1😀xxxx",
+                "Ünïcödé#1", "ABCDEFG1_", "", "        A1");
+
+        for (String password : passwords) {
+            assertEquals(FORMER_RULE.matcher(password).matches(), policy.isValid(password), password);
+        }
+    }
+
+    @Test
+    void shouldApplyConfiguredRules() {
+        PasswordPolicy lenient = new PasswordPolicy(12, false, true, false);
+
+        assertTrue(lenient.isValid("longpassword1"));
+        assertFalse(lenient.isValid("shortpass1"));
+        assertFalse(lenient.isValid("longpassword"));
+        assertFalse(lenient.isValid(null));
+    }
+
+    @Test
+    void shouldRejectPasswordsLongerThanBcryptReads() {
+        PasswordPolicy policy = new PasswordPolicy(8, true, true, true);
+        String base = "Password#1";
+
+        assertTrue(policy.isValid(base + "x".repeat(PasswordPolicy.MAX_BYTES - base.length())));
+        assertFalse(policy.isValid(base + "x".repeat(PasswordPolicy.MAX_BYTES - base.length() + 1)));
+        assertTrue(policy.isValid(base + "ñ".repeat((PasswordPolicy.MAX_BYTES - base.length()) / 2)));
+        assertFalse(policy.isValid(base + "ñ".repeat((PasswordPolicy.MAX_BYTES - base.length()) / 2 + 1)));
+        assertFalse(policy.isValid(base + "😀".repeat(16)));
+    }
+}
@@ -0,0 +1,95 @@
+package edu.eci.UniReserva.UniReserva_Backend.security;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenServiceTest {
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final User user = new User("u1", "Daniel Ñúñez", "email@gmail.com", "$2a$04$hash");
+
+    @Test
+    void shouldVerifyTheClaimsOfAnIssuedToken() {
+        TokenService tokens = new TokenService(SECRET, Duration.ofHours(1));
+
+        IssuedToken issued = tokens.issue(user);
+        AccessToken token = tokens.verifyAuthorization("Bearer " + issued.value()).orElseThrow();
+
+        assertEquals(issued.claims(), token);
+        assertEquals("u1", token.userId());
+        assertEquals("Daniel Ñúñez", token.name());
+        assertEquals("email@gmail.com", token.email());
+        assertTrue(tokens.verifyAuthorization("Basic " + issued.value()).isEmpty());
+        assertTrue(tokens.verifyAuthorization(null).isEmpty());
+    }
+
+    @Test
+    void shouldRejectTamperedOrForeignTokens() {
+        TokenService tokens = new TokenService(SECRET, Duration.ofHours(1));
+        TokenService other = new TokenService(Base64.getEncoder().encodeToString("another secret of at least 32 bytes".getBytes()), Duration.ofHours(1));
+        String token = tokens.issue(user).value();
+        String forged = tokens.issue(new User("admin", "Admin", "admin@gmail.com", "x")).value();
+
+        assertTrue(other.verify(token).isEmpty());
+        assertTrue(tokens.verify(forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'))).isEmpty());
+        assertTrue(tokens.verify(token.substring(0, token.length() - 2)).isEmpty());
+        assertTrue(tokens.verify("not-a-token").isEmpty());
+        assertTrue(tokens.verify(".abc").isEmpty());
+        assertTrue(tokens.verify("%%%.%%%").isEmpty());
+    }
+
+    @Test
+    void shouldRejectExpiredAndRevokedTokens() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-05-01T10:00:00Z"));
+        TokenService tokens = new TokenService(SECRET, Duration.ofMinutes(30), clock);
+        IssuedToken expiring = tokens.issue(user);
+        IssuedToken revoked = tokens.issue(user);
+
+        tokens.revoke(revoked.claims());
+        assertTrue(tokens.verify(revoked.value()).isEmpty());
+        assertTrue(tokens.verify(expiring.value()).isPresent());
+
+        clock.instant = clock.instant.plus(Duration.ofMinutes(30));
+        assertTrue(tokens.verify(expiring.value()).isEmpty());
+    }
+
+    @Test
+    void shouldRequireALongEnoughSecret() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenService(Base64.getEncoder().encodeToString(new byte[16]), Duration.ofHours(1)));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
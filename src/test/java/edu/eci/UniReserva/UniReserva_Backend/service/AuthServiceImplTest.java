@@ -1,19 +1,27 @@
 package edu.eci.UniReserva.UniReserva_Backend.service;
 
+import edu.eci.UniReserva.UniReserva_Backend.model.LoginResponse;
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
 import edu.eci.UniReserva.UniReserva_Backend.repository.UserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordHasher;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordPolicy;
+import edu.eci.UniReserva.UniReserva_Backend.security.TokenService;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +33,15 @@ public class AuthServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private PasswordHasher passwordHasher = new PasswordHasher(4, Duration.ofMinutes(5), 100, Runnable::run);
+
+    @Spy
+    private PasswordPolicy passwordPolicy = new PasswordPolicy(8, true, true, true);
+
+    @Spy
+    private TokenService tokenService = new TokenService("", Duration.ofHours(1));
+
     private User validUser;
     private User invalidUser;
     private User duplicateEmail;
@@ -46,7 +63,41 @@ public class AuthServiceImplTest {
         assertEquals("1037126548", result.getId());
         assertEquals("Daniel", result.getName());
         assertEquals("email@gmail.com", result.getEmail());
-        assertEquals("Password#123", result.getPassword());
+        assertTrue(result.getPassword().startsWith("$2a$04$"));
+        assertTrue(passwordHasher.matches("Password#123", result.getPassword()));
+        verify(userRepository).updatePassword("1037126548", "Password#123", result.getPassword());
+    }
+
+    @Test
+    void shouldIssueATokenThatIdentifiesTheUserUntilLogout() {
+        when(userRepository.findByEmail(validUser.getEmail())).thenReturn(Optional.of(validUser));
+
+        LoginResponse response = authServiceImpl.login(validUser.getEmail(), "Password#123");
+
+        assertEquals("Bearer", response.getTokenType());
+        assertEquals("1037126548", response.getUser().getId());
+        assertEquals("email@gmail.com", response.getUser().getEmail());
+        var token = tokenService.verify(response.getToken()).orElseThrow();
+        assertEquals("1037126548", token.userId());
+        assertEquals(response.getExpiresAt(), token.expiresAt());
+
+        authServiceImpl.logout(token);
+        assertTrue(tokenService.verify(response.getToken()).isEmpty());
+    }
+
+    @Test
+    void shouldNotRehashAPasswordAlreadyHashedWithTheConfiguredCost() {
+        String hash = passwordHasher.hash("Password#123");
+        validUser.setPassword(hash);
+        when(userRepository.findByEmail(validUser.getEmail())).thenReturn(Optional.of(validUser));
+
+        authServiceImpl.authenticateLogin(validUser.getEmail(), "Password#123");
+        authServiceImpl.authenticateLogin(validUser.getEmail(), "Password#123");
+
+        assertEquals(hash, validUser.getPassword());
+        verify(userRepository, never()).updatePassword(anyString(), anyString(), anyString());
+        assertThrows(IllegalArgumentException.class,
+                () -> authServiceImpl.authenticateLogin(validUser.getEmail(), "Password#124"));
     }
 
     @Test
@@ -69,19 +120,23 @@ public class AuthServiceImplTest {
 
     @Test
     public void shouldSingUpUser() {
-        when(userRepository.findByEmail(validUser.getEmail())).thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class))).thenReturn(validUser);
+        when(userRepository.insert(any(User.class))).thenReturn(validUser);
 
         User result = authServiceImpl.authenticateSignUp(validUser);
 
         assertNotNull(result);
         assertEquals(validUser, result);
-        verify(userRepository).save(validUser);
+        verify(userRepository).insert(validUser);
+        verify(userRepository, never()).findByEmail(anyString());
+        assertTrue(passwordHasher.matches("Password#123", validUser.getPassword()));
+        assertFalse(passwordHasher.needsRehash(validUser.getPassword()));
     }
 
     @Test
     public void shouldNotSingUpUserWithDuplicatedEmail() {
-        when(userRepository.findByEmail(validUser.getEmail())).thenReturn(Optional.of(validUser));
+        when(userRepository.insert(any(User.class))).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: unireserva.users index: " + User.EMAIL_INDEX
+                        + " dup key: { email: \"email@gmail.com\" }"));
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> authServiceImpl.authenticateSignUp(duplicateEmail));
 
@@ -89,10 +144,21 @@ public class AuthServiceImplTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    public void shouldNotOverwriteAnExistingUserWithTheSameId() {
+        when(userRepository.insert(any(User.class))).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: unireserva.users index: _id_ dup key: { _id: \"1038944351\" }"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> authServiceImpl.authenticateSignUp(duplicateEmail));
+
+        assertEquals("User already exists", exception.getMessage());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     public void shouldNotSingUpUserWithInvalidPassword() {
         Exception exception = assertThrows(IllegalArgumentException.class, () -> authServiceImpl.authenticateSignUp(invalidePassword));
         assertEquals("Invalid password", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).insert(any(User.class));
     }
 }
@@ -0,0 +1,125 @@
+package edu.eci.UniReserva.UniReserva_Backend.service;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.LabSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LabSearchServiceImplTest {
+
+    private LabService labService;
+    private ReservationRepository reservationRepository;
+    private LabSearchServiceImpl labSearchService;
+    private String date;
+
+    @BeforeEach
+    void setUp() {
+        labService = Mockito.mock(LabService.class);
+        reservationRepository = Mockito.mock(ReservationRepository.class);
+        labSearchService = new LabSearchServiceImpl(labService, new LabScheduleIndex(reservationRepository));
+        date = LocalDate.now().plusDays(2).toString();
+    }
+
+    @Test
+    void shouldReturnFreeMatchingLabsRankedByClosestFit() {
+        List<Lab> labs = List.of(
+                lab("big", 60, Map.of("Computadoras", 40)),
+                lab("small", 20, Map.of("Computadoras", 20)),
+                lab("booked", 30, Map.of("Computadoras", 10)),
+                lab("exact", 30, Map.of("Computadoras", 12)),
+                lab("noComputers", 40, Map.of("Microscopios", 10)));
+        when(labService.getLabs()).thenReturn(labs);
+        when(reservationRepository.findByLabIdInAndEpochDay(anyList(), anyInt()))
+                .thenReturn(List.of(reservation("booked", "09:00", "11:00")));
+
+        List<Lab> result = labSearchService.searchFreeLabs(date, "10:00", "12:00", 30,
+                Map.of("Computadoras", 10), 10);
+
+        assertEquals(List.of("exact", "big"), result.stream().map(Lab::getId).collect(Collectors.toList()));
+        verify(reservationRepository, never()).findByLabIdAndEpochDay(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldNotQueryReservationsWhenNoLabMatchesTheRequirements() {
+        when(labService.getLabs()).thenReturn(List.of(lab("lab01", 25, Map.of("Proyectores", 1))));
+
+        assertTrue(labSearchService.searchFreeLabs(date, "10:00", "12:00", 30, Map.of(), 10).isEmpty());
+        assertTrue(labSearchService.searchFreeLabs(date, "10:00", "12:00", 0, Map.of("Osciloscopios", 1), 10).isEmpty());
+        verify(reservationRepository, never()).findByLabIdInAndEpochDay(anyList(), anyInt());
+    }
+
+    @Test
+    void shouldSearchManyLabsWithOneReservationQueryPerSearch() {
+        List<Lab> labs = IntStream.range(0, 500)
+                .mapToObj(i -> lab("lab" + i, i % 50, Map.of("Computadoras", i % 25)))
+                .collect(Collectors.toList());
+        List<Reservation> booked = new ArrayList<>();
+        for (int i = 0; i < 500; i += 2) {
+            booked.add(reservation("lab" + i, "08:00", "10:30"));
+        }
+        when(labService.getLabs()).thenReturn(labs);
+        when(reservationRepository.findByLabIdInAndEpochDay(anyList(), anyInt())).thenReturn(booked);
+
+        List<Lab> result = labSearchService.searchFreeLabs(date, "10:00", "11:00", 40, Map.of("Computadoras", 15), 100);
+        labSearchService.searchFreeLabs(date, "10:30", "11:00", 40, Map.of("Computadoras", 15), 100);
+
+        List<Lab> expected = labs.stream()
+                .filter(lab -> Integer.parseInt(lab.getId().substring(3)) % 2 == 1)
+                .filter(lab -> lab.getCapacity() >= 40 && lab.getEquipment().get("Computadoras") >= 15)
+                .collect(Collectors.toList());
+        assertEquals(expected.size(), result.size());
+        assertTrue(result.containsAll(expected));
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).getCapacity() <= result.get(i).getCapacity());
+        }
+        verify(reservationRepository, times(2)).findByLabIdInAndEpochDay(anyList(), anyInt());
+    }
+
+    @Test
+    void shouldRejectInvalidSearches() {
+        when(labService.getLabs()).thenReturn(List.of());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> labSearchService.searchFreeLabs(date, "12:00", "10:00", 0, Map.of(), 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> labSearchService.searchFreeLabs(date, "10:00", "12:00", 0, Map.of(), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> labSearchService.searchFreeLabs("tomorrow", "10:00", "12:00", 0, Map.of(), 10));
+    }
+
+    private Lab lab(String id, int capacity, Map<String, Integer> equipment) {
+        Lab lab = new Lab(id, capacity, new HashMap<>(equipment));
+        ReflectionTestUtils.setField(lab, "id", id);
+        return lab;
+    }
+
+    private Reservation reservation(String labId, String startTime, String endTime) {
+        Reservation reservation = new Reservation("user123", labId, date, startTime, endTime, "Study");
+        reservation.setId(labId + startTime);
+        return reservation;
+    }
+}
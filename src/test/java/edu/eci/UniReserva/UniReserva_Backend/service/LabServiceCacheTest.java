@@ -0,0 +1,62 @@
+package edu.eci.UniReserva.UniReserva_Backend.service;
+
+import edu.eci.UniReserva.UniReserva_Backend.config.CacheConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.repository.LabRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.LabServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {CacheConfig.class, LabServiceImpl.class})
+public class LabServiceCacheTest {
+    @Autowired
+    private LabService labService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private LabRepository labRepository;
+
+    @MockitoBean
+    private LabScheduleIndex labScheduleIndex;
+
+    @BeforeEach
+    void setUp() {
+        labService.evictLabCatalog();
+        when(labRepository.findAllWithoutReservations())
+                .thenReturn(List.of(new Lab("Laboratorio de Física", 30, new HashMap<>())));
+    }
+
+    @Test
+    void shouldReadTheCatalogFromTheDatabaseOnlyOnce() {
+        labService.getLabs();
+        List<Lab> result = labService.getLabs();
+
+        assertEquals(1, result.size());
+        verify(labRepository, times(1)).findAllWithoutReservations();
+    }
+
+    @Test
+    void shouldReloadTheCatalogAfterEviction() {
+        labService.getLabs();
+        labService.evictLabCatalog();
+        labService.getLabs();
+
+        verify(labRepository, times(2)).findAllWithoutReservations();
+        assertEquals(List.of(CacheConfig.LAB_CATALOG), List.copyOf(cacheManager.getCacheNames()));
+    }
+}
@@ -1,7 +1,10 @@
 package edu.eci.UniReserva.UniReserva_Backend.service;
 
 import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.model.DayAvailability;
 import edu.eci.UniReserva.UniReserva_Backend.repository.LabRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.Occupancy;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.LabServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,12 +13,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +35,9 @@ public class LabServiceImplTest {
     @Mock
     private LabRepository labRepository;
 
+    @Mock
+    private LabScheduleIndex labScheduleIndex;
+
     @InjectMocks
     private LabServiceImpl labService;
     private Lab myLab;
@@ -42,10 +57,43 @@ public class LabServiceImplTest {
                 myLab,
                 new Lab()
         );
-        when(labRepository.findAll()).thenReturn(mockLabs);
+        when(labRepository.findAllWithoutReservations()).thenReturn(mockLabs);
         List<Lab> result = labService.getLabs();
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals("Laboratorio de Física", result.get(0).getName());
     }
+
+    @Test
+    void shouldBuildAvailabilityFromTheOccupancyBitmaps() {
+        int from = (int) LocalDate.of(2025, 5, 5).toEpochDay();
+        when(labRepository.existsById("lab01")).thenReturn(true);
+        when(labScheduleIndex.occupancy("lab01", from, from + 1))
+                .thenReturn(List.of(Occupancy.of(600, 620), Occupancy.EMPTY));
+
+        List<DayAvailability> result = labService.getAvailability("lab01", "2025-05-05", "2025-05-06", 60);
+
+        assertEquals(2, result.size());
+        assertEquals("2025-05-06", result.get(1).getDate());
+        assertEquals(24, result.get(0).getSlots().size());
+        assertFalse(result.get(0).getSlots().get(10).isFree());
+        assertTrue(result.get(0).getSlots().get(11).isFree());
+        assertEquals("23:00", result.get(0).getSlots().get(23).getStartTime());
+        assertEquals("24:00", result.get(0).getSlots().get(23).getEndTime());
+        assertTrue(result.get(1).getSlots().stream().allMatch(slot -> slot.isFree()));
+    }
+
+    @Test
+    void shouldRejectInvalidAvailabilityQueriesWithoutTouchingTheIndex() {
+        assertThrows(IllegalArgumentException.class,
+                () -> labService.getAvailability("lab01", "2025-05-05", "2025-05-06", 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> labService.getAvailability("lab01", "2025-05-06", "2025-05-05", 15));
+        assertThrows(IllegalArgumentException.class,
+                () -> labService.getAvailability("lab01", "2025-05-01", "2025-06-15", 15));
+        assertThrows(IllegalArgumentException.class,
+                () -> labService.getAvailability("lab01", "05/05/2025", "2025-05-06", 15));
+
+        verify(labScheduleIndex, never()).occupancy(anyString(), anyInt(), anyInt());
+    }
 }
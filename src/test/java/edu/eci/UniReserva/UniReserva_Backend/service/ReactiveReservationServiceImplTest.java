@@ -0,0 +1,150 @@
+package edu.eci.UniReserva.UniReserva_Backend.service;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReactiveLabRepository;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReactiveReservationRepository;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReactiveUserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.ReactiveReservationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReactiveReservationServiceImplTest {
+
+    private ReactiveReservationRepository reservationRepository;
+    private ReactiveLabRepository labRepository;
+    private ReactiveUserRepository userRepository;
+    private ReservationRepository blockingRepository;
+    private ReactiveReservationServiceImpl reservationService;
+    private String date;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = Mockito.mock(ReactiveReservationRepository.class);
+        labRepository = Mockito.mock(ReactiveLabRepository.class);
+        userRepository = Mockito.mock(ReactiveUserRepository.class);
+        blockingRepository = Mockito.mock(ReservationRepository.class);
+        reservationService = new ReactiveReservationServiceImpl(reservationRepository, labRepository, userRepository,
+                new LabScheduleIndex(blockingRepository), new SimpleMeterRegistry());
+        date = LocalDate.now().plusDays(7).toString();
+
+        when(labRepository.existsById("lab01")).thenReturn(Mono.just(true));
+        when(userRepository.existsById("user123")).thenReturn(Mono.just(true));
+        when(reservationRepository.insert(any(Reservation.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    @Test
+    void shouldCreateReservationWithPendingLinksWithoutBlockingQueries() {
+        when(reservationRepository.findByLabIdAndEpochDay(eq("lab01"), anyInt())).thenReturn(Flux.empty());
+
+        StepVerifier.create(reservationService.createReservation(reservation("10:00", "12:00")))
+                .assertNext(saved -> {
+                    assertEquals(24, saved.getId().length());
+                    assertTrue(saved.getLinksPending());
+                    verify(labRepository, never()).addReservation(anyString(), anyString());
+                    verify(userRepository, never()).addReservation(anyString(), anyString());
+                })
+                .verifyComplete();
+        verify(blockingRepository, never()).findByLabIdAndEpochDay(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldRejectOverlappingReservationAndLoadTheDayOnlyOnce() {
+        Reservation existing = reservation("10:00", "12:00");
+        existing.setId("r1");
+        when(reservationRepository.findByLabIdAndEpochDay(eq("lab01"), anyInt())).thenReturn(Flux.just(existing));
+
+        StepVerifier.create(reservationService.createReservation(reservation("11:00", "13:00")))
+                .expectErrorMatches(e -> e instanceof IllegalArgumentException
+                        && e.getMessage().equals("There is already a reservation in the lab selected in the time selected"))
+                .verify();
+        StepVerifier.create(reservationService.createReservation(reservation("12:00", "13:00")))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(reservationService.createReservation(reservation("12:30", "13:30")))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(reservationRepository, times(1)).findByLabIdAndEpochDay(eq("lab01"), anyInt());
+        verify(reservationRepository, times(1)).insert(any(Reservation.class));
+    }
+
+    @Test
+    void shouldReleaseTheSlotWhenTheInsertFails() {
+        when(reservationRepository.findByLabIdAndEpochDay(eq("lab01"), anyInt())).thenReturn(Flux.empty());
+        when(reservationRepository.insert(any(Reservation.class)))
+                .thenReturn(Mono.error(new IllegalStateException("write failed")))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(reservationService.createReservation(reservation("10:00", "12:00")))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(reservationService.createReservation(reservation("10:00", "12:00")))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotCreateReservationWhenLabNotExist() {
+        when(labRepository.existsById("lab01")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(reservationService.createReservation(reservation("10:00", "12:00")))
+                .expectErrorMessage("The lab does not exist")
+                .verify();
+        verify(reservationRepository, never()).insert(any(Reservation.class));
+    }
+
+    @Test
+    void shouldNotCancelAlreadyCanceledReservation() {
+        Reservation canceled = reservation("10:00", "12:00");
+        canceled.setStatus(ReservationStatus.CANCELED);
+        when(reservationRepository.findById("r1")).thenReturn(Mono.just(canceled));
+        when(reservationRepository.findById("missing")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reservationService.cancelReservationByReservationId("r1"))
+                .expectErrorMessage("This reservation is already cancelled")
+                .verify();
+        StepVerifier.create(reservationService.cancelReservationByReservationId("missing"))
+                .expectErrorMessage("Reservation with id missing not found.")
+                .verify();
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    void shouldQueryTheRangeByEpochDay() {
+        Reservation existing = reservation("10:00", "12:00");
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate to = LocalDate.now().plusDays(30);
+        when(reservationRepository.findByLabIdAndEpochDayBetween("lab01", (int) from.toEpochDay(), (int) to.toEpochDay()))
+                .thenReturn(Flux.just(existing));
+
+        StepVerifier.create(reservationService.getReservationsByRangeDate("lab01", from.toString(), to.toString()))
+                .expectNext(existing)
+                .verifyComplete();
+    }
+
+    private Reservation reservation(String startTime, String endTime) {
+        return new Reservation("user123", "lab01", date, startTime, endTime, "Project research");
+    }
+}
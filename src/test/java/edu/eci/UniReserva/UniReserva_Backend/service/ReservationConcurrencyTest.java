@@ -0,0 +1,133 @@
+package edu.eci.UniReserva.UniReserva_Backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.repository.LabRepository;
+import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
+import edu.eci.UniReserva.UniReserva_Backend.repository.UserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.ReservationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class ReservationConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+    private static final List<String> LABS = List.of("lab01", "lab02");
+
+    private final List<Reservation> stored = new CopyOnWriteArrayList<>();
+    private ReservationServiceImpl reservationServiceImpl;
+    private List<String> dates;
+
+    @BeforeEach
+    void setUp() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class, withSettings().stubOnly());
+        LabRepository labRepository = mock(LabRepository.class, withSettings().stubOnly());
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+
+        when(labRepository.existsById(anyString())).thenReturn(true);
+        when(userRepository.existsById(anyString())).thenReturn(true);
+        when(reservationRepository.findByLabIdAndEpochDay(anyString(), anyInt())).thenAnswer(invocation -> {
+            String labId = invocation.getArgument(0);
+            int epochDay = invocation.getArgument(1);
+            return stored.stream()
+                    .filter(r -> labId.equals(r.getLabId()) && epochDay == r.getEpochDay())
+                    .collect(Collectors.toList());
+        });
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            Thread.sleep(1);
+            reservation.setId(UUID.randomUUID().toString());
+            stored.add(reservation);
+            return reservation;
+        });
+
+        reservationServiceImpl = new ReservationServiceImpl(reservationRepository, labRepository, userRepository,
+                new LabScheduleIndex(reservationRepository), Runnable::run, new SimpleMeterRegistry());
+        dates = List.of(LocalDate.now().plusDays(1).toString(), LocalDate.now().plusDays(2).toString());
+    }
+
+    @Test
+    void shouldNeverStoreOverlappingReservationsUnderContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    LocalTime startTime = LocalTime.of(8, 0).plusMinutes(15L * random.nextInt(16));
+                    LocalTime endTime = startTime.plusMinutes(15L * (1 + random.nextInt(8)));
+                    Reservation reservation = new Reservation("user" + random.nextInt(10),
+                            LABS.get(random.nextInt(LABS.size())), dates.get(random.nextInt(dates.size())),
+                            startTime.toString(), endTime.toString(), "Stress");
+                    try {
+                        reservationServiceImpl.createReservation(reservation);
+                        created.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, created.get() + rejected.get());
+        assertEquals(created.get(), stored.size());
+        assertTrue(created.get() > 0);
+        assertTrue(rejected.get() > 0);
+
+        Map<String, List<Reservation>> byLabAndDay = stored.stream()
+                .collect(Collectors.groupingBy(r -> r.getLabId() + "|" + r.getDate()));
+        for (List<Reservation> reservations : byLabAndDay.values()) {
+            for (int i = 0; i < reservations.size(); i++) {
+                for (int j = i + 1; j < reservations.size(); j++) {
+                    Reservation a = reservations.get(i);
+                    Reservation b = reservations.get(j);
+                    assertFalse(a.getParsedStartTime().isBefore(b.getParsedEndTime())
+                                    && b.getParsedStartTime().isBefore(a.getParsedEndTime()),
+                            "Overlapping reservations " + a.getStartTime() + "-" + a.getEndTime()
+                                    + " and " + b.getStartTime() + "-" + b.getEndTime());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package edu.eci.UniReserva.UniReserva_Backend.service;
+
+import edu.eci.UniReserva.UniReserva_Backend.model.Lab;
+import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.ReservationLinkApplier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReservationLinkApplierTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations labBulk;
+    private BulkOperations userBulk;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = Mockito.mock(MongoTemplate.class);
+        labBulk = Mockito.mock(BulkOperations.class);
+        userBulk = Mockito.mock(BulkOperations.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Lab.class)).thenReturn(labBulk);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)).thenReturn(userBulk);
+    }
+
+    @Test
+    void shouldCoalesceTheLinksOfABatchIntoOneBulkPerCollection() {
+        when(mongoTemplate.find(any(Query.class), eq(Reservation.class))).thenReturn(List.of(
+                reservation("r1", "lab01", "user1"),
+                reservation("r2", "lab01", "user2"),
+                reservation("r3", "lab02", "user1")));
+
+        int applied = new ReservationLinkApplier(mongoTemplate, 500, meterRegistry).applyBatch();
+
+        assertEquals(3, applied);
+        assertEquals(Map.of("lab01", addToSet("r1", "r2"), "lab02", addToSet("r3")), updatesByOwner(labBulk, 2));
+        assertEquals(Map.of("user1", addToSet("r1", "r3"), "user2", addToSet("r2")), updatesByOwner(userBulk, 2));
+        verify(labBulk).execute();
+        verify(userBulk).execute();
+
+        ArgumentCaptor<Query> cleared = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> unset = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(cleared.capture(), unset.capture(), eq(Reservation.class));
+        assertEquals(List.of("r1", "r2", "r3"), cleared.getValue().getQueryObject().get("_id", Document.class).get("$in"));
+        assertEquals(new Document("linksPending", 1), unset.getValue().getUpdateObject().get("$unset"));
+        assertEquals(3.0, meterRegistry.get("unireserva.outbox.applied").counter().count());
+    }
+
+    @Test
+    void shouldReadOnlyPendingReservationsUpToTheBatchSize() {
+        new ReservationLinkApplier(mongoTemplate, 50, meterRegistry).applyBatch();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Reservation.class));
+        assertEquals(new Document("linksPending", true), query.getValue().getQueryObject());
+        assertEquals(50, query.getValue().getLimit());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Reservation.class));
+    }
+
+    @Test
+    void shouldKeepReadingWhileBatchesAreFull() {
+        when(mongoTemplate.find(any(Query.class), eq(Reservation.class)))
+                .thenReturn(List.of(reservation("r1", "lab01", "user1"), reservation("r2", "lab01", "user1")))
+                .thenReturn(List.of(reservation("r3", "lab01", "user1")));
+
+        new ReservationLinkApplier(mongoTemplate, 2, meterRegistry).applyPendingLinks();
+
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Reservation.class));
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(Reservation.class));
+        assertEquals(3.0, meterRegistry.get("unireserva.outbox.applied").counter().count());
+    }
+
+    @Test
+    void shouldLeaveReservationsPendingWhenALinkUpdateFails() {
+        when(mongoTemplate.find(any(Query.class), eq(Reservation.class)))
+                .thenReturn(List.of(reservation("r1", "lab01", "user1")));
+        when(userBulk.execute()).thenThrow(new DataAccessResourceFailureException("MongoDB is down"));
+
+        new ReservationLinkApplier(mongoTemplate, 500, meterRegistry).applyPendingLinks();
+
+        verify(labBulk).execute();
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Reservation.class));
+        assertEquals(0.0, meterRegistry.get("unireserva.outbox.applied").counter().count());
+    }
+
+    private static Map<Object, Update> updatesByOwner(BulkOperations bulk, int owners) {
+        ArgumentCaptor<Query> owner = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(owners)).updateOne(owner.capture(), update.capture());
+        return IntStream.range(0, owners).boxed().collect(Collectors.toMap(
+                i -> owner.getAllValues().get(i).getQueryObject().get("_id"), update.getAllValues()::get));
+    }
+
+    private static Update addToSet(Object... reservationIds) {
+        return new Update().addToSet("reservations").each(reservationIds);
+    }
+
+    private static Reservation reservation(String id, String labId, String userId) {
+        Reservation reservation = new Reservation(userId, labId, "2030-01-01", "10:00", "12:00", "Class");
+        reservation.setId(id);
+        return reservation;
+    }
+}
@@ -7,27 +7,48 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import edu.eci.UniReserva.UniReserva_Backend.repository.LabRepository;
 import edu.eci.UniReserva.UniReserva_Backend.repository.UserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.schedule.LabScheduleIndex;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.ReservationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import edu.eci.UniReserva.UniReserva_Backend.model.BatchReservationRequest;
+import edu.eci.UniReserva.UniReserva_Backend.model.BatchReservationResult;
 import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
+import edu.eci.UniReserva.UniReserva_Backend.model.ReservationCursor;
+import edu.eci.UniReserva.UniReserva_Backend.model.ReservationPage;
 import edu.eci.UniReserva.UniReserva_Backend.model.enums.ReservationStatus;
 import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
 
@@ -37,6 +58,8 @@ public class ReservationServiceImplTest {
     private LabRepository labRepository;
     private UserRepository userRepository;
     private ReservationServiceImpl reservationServiceImpl;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService lookupExecutor;
     private Reservation testReservation;
 
     DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -47,12 +70,15 @@ public class ReservationServiceImplTest {
         labRepository = Mockito.mock(LabRepository.class);
         userRepository = Mockito.mock(UserRepository.class);
 
-        reservationServiceImpl = new ReservationServiceImpl(reservationRepository, labRepository, userRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        lookupExecutor = Executors.newCachedThreadPool();
+        reservationServiceImpl = new ReservationServiceImpl(reservationRepository, labRepository, userRepository,
+                new LabScheduleIndex(reservationRepository), lookupExecutor, meterRegistry);
 
         testReservation = new Reservation(
                 "user123",
                 "lab01",
-                "2025-05-01",
+                LocalDate.now().plusDays(7).format(dateFormatter),
                 "10:00",
                 "12:00",
                 "Project research"
@@ -65,7 +91,7 @@ public class ReservationServiceImplTest {
         when(userRepository.existsById(testReservation.getUserId())).thenReturn(true);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
-        Reservation createdReservation = reservationServiceImpl.createReservation(new Reservation("user123", "lab01", "2025-05-01", "10:00", "12:00", "Project research"));
+        Reservation createdReservation = reservationServiceImpl.createReservation(new Reservation("user123", "lab01", testReservation.getDate(), "10:00", "12:00", "Project research"));
 
         assertNotNull(createdReservation);
         assertEquals(testReservation.getLabId(), createdReservation.getLabId());
@@ -84,6 +110,12 @@ public class ReservationServiceImplTest {
         assertEquals(testReservation.getStartTime(), savedReservation.getStartTime());
         assertEquals(testReservation.getEndTime(), savedReservation.getEndTime());
         assertEquals(ReservationStatus.CONFIRMED, savedReservation.getStatus());
+        assertTrue(savedReservation.getLinksPending());
+
+        verify(labRepository, never()).addReservation(anyString(), any());
+        verify(userRepository, never()).addReservation(anyString(), any());
+        verify(labRepository, never()).save(any());
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -92,8 +124,8 @@ public class ReservationServiceImplTest {
         when(labRepository.existsById("lab02")).thenReturn(true);
         when(userRepository.existsById(testReservation.getUserId())).thenReturn(true);
 
-        when(reservationRepository.findByLabId(testReservation.getLabId())).thenReturn(List.of(testReservation));
-        when(reservationRepository.findByLabId("lab02")).thenReturn(Collections.emptyList());
+        when(reservationRepository.findByLabIdAndEpochDay(testReservation.getLabId(), testReservation.getEpochDay())).thenReturn(List.of(testReservation));
+        when(reservationRepository.findByLabIdAndEpochDay("lab02", testReservation.getEpochDay())).thenReturn(Collections.emptyList());
 
         Reservation secondReservation = new Reservation(
                 testReservation.getUserId(),
@@ -129,7 +161,7 @@ public class ReservationServiceImplTest {
 
         testReservation.setStatus(ReservationStatus.CANCELED);
 
-        when(reservationRepository.findByLabId(testReservation.getLabId())).thenReturn(List.of(testReservation));
+        when(reservationRepository.findByLabIdAndEpochDay(testReservation.getLabId(), testReservation.getEpochDay())).thenReturn(List.of(testReservation));
 
         Reservation newReservation = new Reservation(
                 testReservation.getUserId(),
@@ -160,6 +192,66 @@ public class ReservationServiceImplTest {
     }
 
 
+    @AfterEach
+    void tearDown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldLookUpLabAndUserConcurrently() {
+        CountDownLatch userLookupStarted = new CountDownLatch(1);
+        when(labRepository.existsById(testReservation.getLabId()))
+                .thenAnswer(invocation -> userLookupStarted.await(5, TimeUnit.SECONDS));
+        when(userRepository.existsById(testReservation.getUserId())).thenAnswer(invocation -> {
+            userLookupStarted.countDown();
+            return true;
+        });
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
+
+        Reservation createdReservation = reservationServiceImpl.createReservation(
+                new Reservation("user123", "lab01", testReservation.getDate(), "10:00", "12:00", "Project research"));
+
+        assertNotNull(createdReservation);
+    }
+
+    @Test
+    void shouldReportTheLabErrorFirstEvenIfTheUserLookupFails() {
+        when(labRepository.existsById(testReservation.getLabId())).thenReturn(false);
+        when(userRepository.existsById(testReservation.getUserId())).thenThrow(new IllegalStateException("timeout"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reservationServiceImpl.createReservation(testReservation));
+
+        assertEquals("The lab does not exist", exception.getMessage());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    void shouldNotKeepTheScheduleOfAnUnknownLab() {
+        LabScheduleIndex labScheduleIndex = new LabScheduleIndex(reservationRepository);
+        ReservationServiceImpl service = new ReservationServiceImpl(reservationRepository, labRepository,
+                userRepository, labScheduleIndex, lookupExecutor, meterRegistry);
+        when(labRepository.existsById("made-up")).thenReturn(false);
+        when(userRepository.existsById(testReservation.getUserId())).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> service.createReservation(new Reservation("user123",
+                "made-up", testReservation.getDate(), "10:00", "12:00", "Project research")));
+
+        assertFalse(labScheduleIndex.isLoaded("made-up", testReservation.getEpochDay()));
+    }
+
+    @Test
+    void shouldRejectAnInvalidSlotWithoutQueryingAnything() {
+        Reservation backwards = new Reservation("user123", "lab01", testReservation.getDate(), "12:00", "10:00",
+                "Project research");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reservationServiceImpl.createReservation(backwards));
+
+        assertEquals("The end time must be after the start time", exception.getMessage());
+        verifyNoInteractions(labRepository, userRepository, reservationRepository);
+    }
+
     @Test
     void shouldNotCreateReservationWhenLabNotExist() {
         when(labRepository.existsById(testReservation.getLabId())).thenReturn(false);
@@ -229,13 +321,14 @@ public class ReservationServiceImplTest {
         when(labRepository.existsById(testReservation.getLabId())).thenReturn(true);
         when(userRepository.existsById(testReservation.getUserId())).thenReturn(true);
 
-        when(reservationRepository.findByLabId(testReservation.getLabId())).thenReturn(List.of(testReservation));
+        when(reservationRepository.findByLabIdAndEpochDay(testReservation.getLabId(), testReservation.getEpochDay())).thenReturn(List.of(testReservation));
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
             reservationServiceImpl.createReservation(testReservation);
         });
 
         assertEquals("There is already a reservation in the lab selected in the time selected", exception.getMessage());
+        assertEquals(1.0, meterRegistry.get("unireserva.reservations.conflicts").tag("operation", "single").counter().count());
 
         verify(reservationRepository, never()).save(any(Reservation.class));
     }
@@ -249,24 +342,24 @@ public class ReservationServiceImplTest {
         Reservation res1 = new Reservation(userId, "lab1", date1, "10:00", "11:00", "Study");
         Reservation res2 = new Reservation(userId, "lab2", date2, "12:00", "13:00", "Project");
 
-        when(reservationRepository.findByUserId(userId)).thenReturn(Arrays.asList(res1, res2));
+        when(reservationRepository.findByUserIdOrderByEpochDayAscStartMinuteAsc(userId)).thenReturn(Arrays.asList(res1, res2));
 
         List<Reservation> result = reservationServiceImpl.getReservationsByUserId(userId);
 
         assertEquals(2, result.size(), "El usuario debería tener 2 reservas");
-        verify(reservationRepository, times(1)).findByUserId(userId);
+        verify(reservationRepository, times(1)).findByUserIdOrderByEpochDayAscStartMinuteAsc(userId);
     }
 
     @Test
     public void shouldNotReturnReservationsWhenUserHasNoReservations() {
         String userId = "user456";
 
-        when(reservationRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
+        when(reservationRepository.findByUserIdOrderByEpochDayAscStartMinuteAsc(userId)).thenReturn(Collections.emptyList());
 
         List<Reservation> result = reservationServiceImpl.getReservationsByUserId(userId);
 
         assertTrue(result.isEmpty(), "El usuario no debería tener reservas");
-        verify(reservationRepository, times(1)).findByUserId(userId);
+        verify(reservationRepository, times(1)).findByUserIdOrderByEpochDayAscStartMinuteAsc(userId);
     }
 
     @Test
@@ -305,5 +398,205 @@ public class ReservationServiceImplTest {
         assertEquals("This reservation is already cancelled", exception.getMessage());
     }
 
-}
+    @Test
+    void shouldReturnSameReservationsByRangeDateAsInMemoryFilter() {
+        List<Reservation> allReservations = List.of(
+                new Reservation("user1", "lab01", "2025-04-30", "10:00", "11:00", "Before range"),
+                new Reservation("user1", "lab01", "2025-05-01", "10:00", "11:00", "First day"),
+                new Reservation("user2", "lab01", "2025-05-15", "08:00", "09:00", "Middle"),
+                new Reservation("user2", "lab02", "2025-05-15", "08:00", "09:00", "Other lab"),
+                new Reservation("user3", "lab01", "2025-05-31", "16:00", "18:00", "Last day"),
+                new Reservation("user3", "lab01", "2025-06-01", "16:00", "18:00", "After range"),
+                new Reservation("user3", "lab01", "2024-05-20", "16:00", "18:00", "Previous year")
+        );
+        when(reservationRepository.findByLabIdAndEpochDayBetween(anyString(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    String labId = invocation.getArgument(0);
+                    int from = invocation.getArgument(1);
+                    int to = invocation.getArgument(2);
+                    return allReservations.stream()
+                            .filter(r -> labId.equals(r.getLabId())
+                                    && r.getEpochDay() >= from && r.getEpochDay() <= to)
+                            .collect(Collectors.toList());
+                });
+
+        LocalDate startDate = LocalDate.parse("2025-05-01");
+        LocalDate endDate = LocalDate.parse("2025-05-31");
+        List<Reservation> expected = allReservations.stream()
+                .filter(reservation -> !reservation.getParsedDate().isBefore(startDate)
+                        && !reservation.getParsedDate().isAfter(endDate) && "lab01".equals(reservation.getLabId()))
+                .collect(Collectors.toList());
+
+        List<Reservation> result = reservationServiceImpl.getReservationsByRangeDate("lab01", "2025-05-01", "2025-05-31");
+
+        assertEquals(3, result.size());
+        assertEquals(expected, result);
+        verify(reservationRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldRejectAnInvalidRangeDate() {
+        Exception range = assertThrows(IllegalArgumentException.class,
+                () -> reservationServiceImpl.getReservationsByRangeDate("lab01", "2025-13-01", "2025-05-31"));
+        Exception page = assertThrows(IllegalArgumentException.class,
+                () -> reservationServiceImpl.getReservationsByRangeDate("lab01", "2025-05-01", "31/05/2025", null, 20));
+        Exception stream = assertThrows(IllegalArgumentException.class,
+                () -> reservationServiceImpl.streamReservationsByRangeDate("lab01", null, "2025-05-31"));
+
+        assertEquals("Invalid dates", range.getMessage());
+        assertEquals("Invalid dates", page.getMessage());
+        assertEquals("Invalid dates", stream.getMessage());
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void shouldReturnPageWithCursorWhenThereAreMoreReservations() {
+        Reservation first = new Reservation("user123", "lab01", testReservation.getDate(), "08:00", "09:00", "First");
+        first.setId("r1");
+        Reservation second = new Reservation("user123", "lab01", testReservation.getDate(), "09:00", "10:00", "Second");
+        second.setId("r2");
+        Reservation third = new Reservation("user123", "lab01", testReservation.getDate(), "10:00", "11:00", "Third");
+        third.setId("r3");
+        when(reservationRepository.findUserPage(eq("user123"), isNull(), eq(3))).thenReturn(List.of(first, second, third));
+
+        ReservationPage page = reservationServiceImpl.getReservationsByUserId("user123", null, 2);
+
+        assertEquals(List.of(first, second), page.getItems());
+        ReservationCursor cursor = ReservationCursor.decode(page.getNextCursor());
+        assertEquals(second.getEpochDay(), cursor.getEpochDay());
+        assertEquals(second.getStartMinute(), cursor.getStartMinute());
+        assertEquals("r2", cursor.getId());
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
+        Reservation only = new Reservation("user123", "lab01", testReservation.getDate(), "08:00", "09:00", "Only");
+        only.setId("r1");
+        String cursor = new ReservationCursor(only.getEpochDay(), 0, "r0").encode();
+        when(reservationRepository.findLabPage(eq("lab01"), anyInt(), anyInt(), any(ReservationCursor.class), eq(21)))
+                .thenReturn(List.of(only));
+
+        ReservationPage page = reservationServiceImpl.getReservationsByRangeDate("lab01", testReservation.getDate(),
+                testReservation.getDate(), cursor, 20);
+
+        assertEquals(List.of(only), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> reservationServiceImpl.getReservationsByUserId("user123", "not-a-cursor", 20));
+
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    void shouldCreateWeeklyReservationsAndReportConflictsPerSlot() {
+        LocalDate firstDate = LocalDate.now().plusDays(7);
+        Reservation existing = new Reservation("user999", "lab01", firstDate.plusWeeks(1).toString(), "11:00", "12:00", "Taken");
+        existing.setId("existing");
+        when(labRepository.existsById("lab01")).thenReturn(true);
+        when(userRepository.existsById("user123")).thenReturn(true);
+        when(reservationRepository.findByLabIdAndEpochDayIn(eq("lab01"), any())).thenReturn(List.of(existing));
+        when(reservationRepository.insert(anyList())).thenAnswer(invocation -> {
+            List<Reservation> toInsert = invocation.getArgument(0);
+            for (int i = 0; i < toInsert.size(); i++) {
+                assertTrue(toInsert.get(i).getLinksPending());
+                toInsert.get(i).setId("new" + i);
+            }
+            return toInsert;
+        });
 
+        BatchReservationRequest request = new BatchReservationRequest();
+        request.setUserId("user123");
+        request.setLabId("lab01");
+        request.setPurpose("Semester course");
+        request.setFirstDate(firstDate.toString());
+        request.setLastDate(firstDate.plusWeeks(3).toString());
+        request.setStartTime("10:00");
+        request.setEndTime("12:00");
+        request.getSlots().add(new BatchReservationRequest.Slot(firstDate.toString(), "11:00", "13:00"));
+        request.getSlots().add(new BatchReservationRequest.Slot(LocalDate.now().minusDays(1).toString(), "10:00", "11:00"));
+
+        List<BatchReservationResult> results = reservationServiceImpl.createReservations(request);
+
+        assertEquals(6, results.size());
+        assertEquals("new0", results.get(0).getReservationId());
+        assertEquals("You cannot select a past date for your reservation", results.get(1).getError());
+        assertEquals("There is already a reservation in the lab selected in the time selected", results.get(2).getError());
+        assertEquals("There is already a reservation in the lab selected in the time selected", results.get(3).getError());
+        assertFalse(results.get(3).isCreated());
+        assertEquals("new1", results.get(4).getReservationId());
+        assertEquals("new2", results.get(5).getReservationId());
+
+        assertEquals(2.0, meterRegistry.get("unireserva.reservations.conflicts").tag("operation", "batch").counter().count());
+
+        verify(labRepository, times(1)).existsById("lab01");
+        verify(userRepository, times(1)).existsById("user123");
+        verify(reservationRepository, times(1)).findByLabIdAndEpochDayIn(eq("lab01"), any());
+        verify(reservationRepository, times(1)).insert(anyList());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verify(labRepository, never()).addReservations(anyString(), any());
+        verify(userRepository, never()).addReservations(anyString(), any());
+    }
+
+    @Test
+    void shouldRejectIncompleteOrEmptySlotsOneByOne() {
+        String date = LocalDate.now().plusDays(7).toString();
+        when(labRepository.existsById("lab01")).thenReturn(true);
+        when(userRepository.existsById("user123")).thenReturn(true);
+        when(reservationRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        BatchReservationRequest request = new BatchReservationRequest();
+        request.setUserId("user123");
+        request.setLabId("lab01");
+        request.getSlots().add(new BatchReservationRequest.Slot(null, "10:00", "11:00"));
+        request.getSlots().add(new BatchReservationRequest.Slot(date, null, "11:00"));
+        request.getSlots().add(new BatchReservationRequest.Slot(date, "10:00", null));
+        request.getSlots().add(new BatchReservationRequest.Slot(date, "11:00", "10:00"));
+        request.getSlots().add(null);
+        request.getSlots().add(new BatchReservationRequest.Slot(date, "10:00", "11:00"));
+
+        List<BatchReservationResult> results = reservationServiceImpl.createReservations(request);
+
+        assertEquals(6, results.size());
+        assertEquals("Invalid dates", results.get(0).getError());
+        assertEquals("Invalid times", results.get(1).getError());
+        assertEquals("Invalid times", results.get(2).getError());
+        assertEquals("The end time must be after the start time", results.get(3).getError());
+        assertEquals("Invalid dates", results.get(4).getError());
+        assertTrue(results.get(5).isCreated());
+        verify(reservationRepository, times(1)).insert(argThat((List<Reservation> saved) -> saved.size() == 1));
+    }
+
+    @Test
+    void shouldRejectABatchWithoutSlotsWhenTheSlotsAreNull() {
+        when(labRepository.existsById("lab01")).thenReturn(true);
+        when(userRepository.existsById("user123")).thenReturn(true);
+        BatchReservationRequest request = new BatchReservationRequest();
+        request.setUserId("user123");
+        request.setLabId("lab01");
+        request.setSlots(null);
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> reservationServiceImpl.createReservations(request));
+
+        assertEquals("The batch does not contain any slot", exception.getMessage());
+        verify(reservationRepository, never()).insert(anyList());
+    }
+
+    @Test
+    void shouldNotCreateBatchWhenLabNotExist() {
+        when(labRepository.existsById("lab01")).thenReturn(false);
+        BatchReservationRequest request = new BatchReservationRequest();
+        request.setLabId("lab01");
+        request.setUserId("user123");
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> reservationServiceImpl.createReservations(request));
+
+        assertEquals("The lab does not exist", exception.getMessage());
+        verify(reservationRepository, never()).insert(anyList());
+    }
+
+}
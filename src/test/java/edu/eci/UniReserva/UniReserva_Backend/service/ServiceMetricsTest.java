@@ -0,0 +1,69 @@
+package edu.eci.UniReserva.UniReserva_Backend.service;
+
+import edu.eci.UniReserva.UniReserva_Backend.config.ExecutorConfig;
+import edu.eci.UniReserva.UniReserva_Backend.config.MetricsConfig;
+import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.repository.UserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordHasher;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordPolicy;
+import edu.eci.UniReserva.UniReserva_Backend.security.TokenService;
+import edu.eci.UniReserva.UniReserva_Backend.service.impl.AuthServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {MetricsConfig.class, AopAutoConfiguration.class, AuthServiceImpl.class,
+        PasswordHasher.class, PasswordPolicy.class, TokenService.class, ExecutorConfig.class, ServiceMetricsTest.Registry.class},
+        properties = "unireserva.password.bcrypt-cost=4")
+public class ServiceMetricsTest {
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @TestConfiguration
+    static class Registry {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    void shouldTimeServiceCallsByClassMethodAndOutcome() {
+        User user = new User("u1", "Juan Perez", "juan@example.com", "Secure#2024");
+        when(userRepository.findByEmail("juan@example.com")).thenReturn(Optional.of(user));
+
+        authService.authenticateLogin("juan@example.com", "Secure#2024");
+        assertThrows(IllegalArgumentException.class, () -> authService.authenticateLogin("juan@example.com", "wrong"));
+
+        Timer success = meterRegistry.get(MetricsConfig.SERVICE_TIMER)
+                .tag("class", AuthServiceImpl.class.getName())
+                .tag("method", "authenticateLogin")
+                .tag("exception", "none")
+                .timer();
+        Timer failure = meterRegistry.get(MetricsConfig.SERVICE_TIMER)
+                .tag("method", "authenticateLogin")
+                .tag("exception", "IllegalArgumentException")
+                .timer();
+        assertEquals(1, success.count());
+        assertEquals(1, failure.count());
+    }
+}
@@ -2,8 +2,11 @@ package edu.eci.UniReserva.UniReserva_Backend.service;
 
 import edu.eci.UniReserva.UniReserva_Backend.model.Reservation;
 import edu.eci.UniReserva.UniReserva_Backend.model.User;
+import edu.eci.UniReserva.UniReserva_Backend.model.UserSummary;
 import edu.eci.UniReserva.UniReserva_Backend.repository.ReservationRepository;
 import edu.eci.UniReserva.UniReserva_Backend.repository.UserRepository;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordHasher;
+import edu.eci.UniReserva.UniReserva_Backend.security.PasswordPolicy;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.ReservationServiceImpl;
 import edu.eci.UniReserva.UniReserva_Backend.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,6 +34,15 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Spy
+    private PasswordHasher passwordHasher = new PasswordHasher(4, Duration.ofMinutes(5), 100, Runnable::run);
+
+    @Spy
+    private PasswordPolicy passwordPolicy = new PasswordPolicy(8, true, true, true);
+
     private User validUser;
     private User updateName;
     private User updatePassword;
@@ -70,7 +84,7 @@ class UserServiceImplTest {
                 user.getId().equals(validUser.getId()) &&
                         user.getName().equals(validUser.getName()) &&
                         user.getEmail().equals(validUser.getEmail()) &&
-                        user.getPassword().equals("NewPassword#123")
+                        passwordHasher.matches("NewPassword#123", user.getPassword())
         ));
     }
 
@@ -108,7 +122,7 @@ class UserServiceImplTest {
     void shouldDeleteUserWhenUserExists() {
         String userId = validUser.getId();
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(validUser));
+        when(reservationRepository.existsByUserId(userId)).thenReturn(false);
         String result = userServiceImpl.deleteUser(userId);
         verify(userRepository).deleteById(userId);
         assertEquals("User with ID " + userId + " deleted successfully", result);
@@ -128,28 +142,42 @@ class UserServiceImplTest {
     @Test
     void shouldNotDeleteUserWhenHasReservation(){
         String userId = validUser.getId();
-        validUser.addReservationId("1234567");
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(validUser));
+        when(reservationRepository.existsByUserId(userId)).thenReturn(true);
         Exception exception = assertThrows(IllegalArgumentException.class, () -> userServiceImpl.deleteUser(userId));
         assertEquals("User has Repository, can't be deleted", exception.getMessage());
+        verify(userRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void shouldNotDeleteUserWhoseReservationIsNotLinkedYet() {
+        String userId = validUser.getId();
+        assertTrue(validUser.getReservations().isEmpty());
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(reservationRepository.existsByUserId(userId)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> userServiceImpl.deleteUser(userId));
+
+        verify(userRepository, never()).findById(anyString());
+        verify(userRepository, never()).deleteById(anyString());
     }
 
     @Test
     void shouldGetUserWhenUserExists() {
-        when(userRepository.findById(validUser.getId())).thenReturn(Optional.of(validUser));
-        User result = userServiceImpl.getUser(validUser.getId());
+        when(userRepository.findSummaryById(validUser.getId()))
+                .thenReturn(Optional.of(new UserSummary("1037126548", "Daniel", "email@gmail.com")));
+        UserSummary result = userServiceImpl.getUser(validUser.getId());
         assertNotNull(result);
         assertEquals("1037126548", result.getId());
         assertEquals("Daniel", result.getName());
         assertEquals("email@gmail.com",result.getEmail());
-        assertEquals("Password#123",result.getPassword());
+        verify(userRepository, never()).findById(anyString());
     }
 
     @Test
     void shouldNotGetUserWhenUserDoesNotExist() {
         String userId = "999";
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findSummaryById(userId)).thenReturn(Optional.empty());
         assertThrows(IllegalArgumentException.class, () -> userServiceImpl.getUser(userId));
     }
 